@@ -0,0 +1,34 @@
+package dc.vilnius.kudos.domain;
+
+import dc.vilnius.kudos.dto.KudosDto;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class KudosMapperBenchmark {
+
+  Kudos kudos;
+
+  @Setup
+  public void setUp() {
+    kudos = new Kudos();
+    kudos.setChannel("C01ABCDEF");
+    kudos.setUsername("U01ABCDEF");
+    kudos.setMessage("Thanks for the help with the release");
+    kudos.setCreateDate(LocalDateTime.of(2021, 12, 1, 12, 0));
+  }
+
+  @Benchmark
+  public KudosDto entity2Dto() {
+    return KudosMapper.entity2Dto(kudos);
+  }
+}
@@ -0,0 +1,46 @@
+package dc.vilnius.kudos.domain;
+
+import dc.vilnius.kudos.dto.KudosDto;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LeaderboardLoaderBenchmark {
+
+  private static final int HEROES = 50;
+
+  @Param({"10", "1000", "100000"})
+  int kudos;
+
+  List<KudosDto> rows;
+
+  @Setup
+  public void setUp() {
+    var createDate = LocalDateTime.of(2021, 12, 1, 12, 0);
+    rows = new ArrayList<>(kudos);
+    for (int i = 0; i < kudos; i++) {
+      rows.add(new KudosDto("C01ABCDEF", "U" + (i % HEROES),
+          "Thanks for the help with release " + i, createDate.plusMinutes(i)));
+    }
+    rows.sort(Comparator.comparing(KudosDto::username));
+  }
+
+  @Benchmark
+  public Map<String, List<String>> groupMessagesByHero() {
+    return LeaderboardLoader.groupMessagesByHero(rows.stream());
+  }
+}
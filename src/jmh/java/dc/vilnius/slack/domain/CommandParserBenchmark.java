@@ -0,0 +1,29 @@
+package dc.vilnius.slack.domain;
+
+import dc.vilnius.slack.dto.SlackMessage;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CommandParserBenchmark {
+
+  @Param({
+      "<@U01ABCDEF|john.doe> thanks for the help with the release",
+      "<@U01ABCDEF|john.doe> <@U02ABCDEF|jane.doe> <@U03ABCDEF|bob> great demo today, thank you all",
+      "@john.doe @jane.doe thanks for the review"
+  })
+  String command;
+
+  @Benchmark
+  public SlackMessage parse() {
+    return CommandParser.parse(command);
+  }
+}
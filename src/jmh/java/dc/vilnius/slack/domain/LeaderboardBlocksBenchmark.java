@@ -0,0 +1,51 @@
+package dc.vilnius.slack.domain;
+
+import com.slack.api.model.block.LayoutBlock;
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import dc.vilnius.kudos.dto.LeaderboardDto;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LeaderboardBlocksBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  int kudos;
+
+  @Param({"50", "5000"})
+  int heroes;
+
+  LeaderboardDto leaderboard;
+
+  @Setup
+  public void setUp() {
+    var messagesByHero = new HashMap<String, List<String>>();
+    for (int i = 0; i < Math.max(kudos, heroes); i++) {
+      messagesByHero.computeIfAbsent("U" + (i % heroes), hero -> new ArrayList<>())
+          .add("Thanks for the help with release " + i);
+    }
+    var heroVotes = messagesByHero.entrySet().stream()
+        .map(entry -> new HeroVotesDto(entry.getKey(), entry.getValue().size()))
+        .sorted(Comparator.comparingLong(HeroVotesDto::voteCount).reversed())
+        .toList();
+    leaderboard = new LeaderboardDto(heroVotes, messagesByHero);
+  }
+
+  @Benchmark
+  public List<List<LayoutBlock>> render() {
+    return LeaderboardBlocks.render(List.of(), leaderboard, List.of());
+  }
+}
@@ -0,0 +1,42 @@
+package dc.vilnius.slack.domain;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageGeneratorBenchmark {
+
+  @Param({"1", "5", "20"})
+  int mentions;
+
+  List<String> usernames;
+
+  @Setup
+  public void setUp() {
+    usernames = IntStream.range(0, mentions)
+        .mapToObj(i -> "U0" + i + "ABCDEF")
+        .collect(Collectors.toList());
+  }
+
+  @Benchmark
+  public String singleMessage() {
+    return MessageGenerator.randomSuccessMessage(usernames.get(0));
+  }
+
+  @Benchmark
+  public String ackText() {
+    return MessageGenerator.randomSuccessMessages(usernames);
+  }
+}
@@ -0,0 +1,55 @@
+package dc.vilnius.tasks;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(KudosExecutorBenchmark.CALLERS)
+public class KudosExecutorBenchmark {
+
+  static final int CALLERS = 64;
+  private static final int BOUNDED_THREADS = 4;
+
+  @Param({"bounded", "virtual"})
+  String executor;
+
+  @Param({"20"})
+  long slackCallMillis;
+
+  ExecutorService executorService;
+
+  @Setup
+  public void setUp() {
+    var factory = new KudosExecutorFactory();
+    executorService = "virtual".equals(executor) ? factory.virtualThreadPerTaskExecutor()
+        : factory.boundedExecutor("benchmark-bounded", BOUNDED_THREADS, CALLERS,
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @TearDown
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Benchmark
+  public void blockingSlackCall() throws InterruptedException, ExecutionException {
+    executorService.submit(() -> {
+      TimeUnit.MILLISECONDS.sleep(slackCallMillis);
+      return null;
+    }).get();
+  }
+}
@@ -1,6 +1,5 @@
 package dc.vilnius.kudos.domain;
 
-import io.micronaut.data.annotation.DateCreated;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
@@ -25,7 +24,6 @@ class Kudos {
   @NotNull
   private String message;
 
-  @DateCreated
   private LocalDateTime createDate;
 
   public UUID getId() {
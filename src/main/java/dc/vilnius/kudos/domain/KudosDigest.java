@@ -0,0 +1,136 @@
+package dc.vilnius.kudos.domain;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.validation.constraints.NotNull;
+
+@Entity
+class KudosDigest {
+
+  @Id
+  @GeneratedValue
+  private UUID id;
+
+  @NotNull
+  private String recipient;
+
+  @NotNull
+  private LocalDate yearMonth;
+
+  private String dmChannel;
+
+  private String scheduledMessageId;
+
+  private LocalDateTime postAt;
+
+  private int kudosCount;
+
+  @NotNull
+  private String body;
+
+  private long version;
+
+  private LocalDateTime leaseUntil;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getRecipient() {
+    return recipient;
+  }
+
+  public void setRecipient(String recipient) {
+    this.recipient = recipient;
+  }
+
+  public LocalDate getYearMonth() {
+    return yearMonth;
+  }
+
+  public void setYearMonth(LocalDate yearMonth) {
+    this.yearMonth = yearMonth;
+  }
+
+  public String getDmChannel() {
+    return dmChannel;
+  }
+
+  public void setDmChannel(String dmChannel) {
+    this.dmChannel = dmChannel;
+  }
+
+  public String getScheduledMessageId() {
+    return scheduledMessageId;
+  }
+
+  public void setScheduledMessageId(String scheduledMessageId) {
+    this.scheduledMessageId = scheduledMessageId;
+  }
+
+  public LocalDateTime getPostAt() {
+    return postAt;
+  }
+
+  public void setPostAt(LocalDateTime postAt) {
+    this.postAt = postAt;
+  }
+
+  public int getKudosCount() {
+    return kudosCount;
+  }
+
+  public void setKudosCount(int kudosCount) {
+    this.kudosCount = kudosCount;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public void setBody(String body) {
+    this.body = body;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
+  public LocalDateTime getLeaseUntil() {
+    return leaseUntil;
+  }
+
+  public void setLeaseUntil(LocalDateTime leaseUntil) {
+    this.leaseUntil = leaseUntil;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    KudosDigest that = (KudosDigest) o;
+    return recipient.equals(that.recipient) && yearMonth.equals(that.yearMonth);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(recipient, yearMonth);
+  }
+}
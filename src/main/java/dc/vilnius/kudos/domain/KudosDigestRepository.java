@@ -0,0 +1,23 @@
+package dc.vilnius.kudos.domain;
+
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+interface KudosDigestRepository extends CrudRepository<KudosDigest, UUID> {
+
+  @Query(value = "INSERT INTO kudos_digest (recipient, year_month, kudos_count, body)"
+      + " VALUES (:recipient, :yearMonth, 0, '')"
+      + " ON CONFLICT (recipient, year_month) DO NOTHING",
+      nativeQuery = true)
+  void insertIfAbsent(String recipient, LocalDate yearMonth);
+
+  @Query(value = "SELECT * FROM kudos_digest"
+      + " WHERE recipient = :recipient AND year_month = :yearMonth FOR UPDATE",
+      nativeQuery = true)
+  Optional<KudosDigest> findForUpdate(String recipient, LocalDate yearMonth);
+}
@@ -0,0 +1,68 @@
+package dc.vilnius.kudos.domain;
+
+import dc.vilnius.kudos.dto.KudosDigestClaim;
+import dc.vilnius.kudos.dto.KudosDigestDto;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Optional;
+import javax.transaction.Transactional;
+
+@Singleton
+class KudosDigests {
+
+  private final KudosDigestRepository kudosDigestRepository;
+  private final Duration lease;
+
+  KudosDigests(KudosDigestRepository kudosDigestRepository,
+      @Value("${hero.kudos.notifications.lease:5m}") Duration lease) {
+    this.kudosDigestRepository = kudosDigestRepository;
+    this.lease = lease;
+  }
+
+  @Transactional
+  Optional<KudosDigestClaim> claim(String recipient, LocalDate date) {
+    var yearMonth = date.with(TemporalAdjusters.firstDayOfMonth());
+    kudosDigestRepository.insertIfAbsent(recipient, yearMonth);
+    var digest = kudosDigestRepository.findForUpdate(recipient, yearMonth).orElseThrow();
+    var now = LocalDateTime.now();
+    if (digest.getLeaseUntil() != null && digest.getLeaseUntil().isAfter(now)) {
+      return Optional.empty();
+    }
+    digest.setVersion(digest.getVersion() + 1);
+    digest.setLeaseUntil(now.plus(lease));
+    kudosDigestRepository.update(digest);
+    var previous = digest.getKudosCount() > 0 ? KudosMapper.digest2Dto(digest) : null;
+    return Optional.of(new KudosDigestClaim(recipient, yearMonth, digest.getVersion(), previous));
+  }
+
+  @Transactional
+  boolean complete(KudosDigestClaim claim, KudosDigestDto current) {
+    return findClaimed(claim).map(digest -> {
+      digest.setDmChannel(current.channel());
+      digest.setScheduledMessageId(current.scheduledMessageId());
+      digest.setPostAt(current.postAt());
+      digest.setKudosCount(current.kudosCount());
+      digest.setBody(current.body());
+      digest.setLeaseUntil(null);
+      kudosDigestRepository.update(digest);
+      return true;
+    }).orElse(false);
+  }
+
+  @Transactional
+  void release(KudosDigestClaim claim) {
+    findClaimed(claim).ifPresent(digest -> {
+      digest.setLeaseUntil(null);
+      kudosDigestRepository.update(digest);
+    });
+  }
+
+  private Optional<KudosDigest> findClaimed(KudosDigestClaim claim) {
+    return kudosDigestRepository.findForUpdate(claim.recipient(), claim.yearMonth())
+        .filter(digest -> digest.getVersion() == claim.version());
+  }
+}
@@ -3,58 +3,170 @@ package dc.vilnius.kudos.domain;
 import static java.util.stream.Collectors.toList;
 
 import dc.vilnius.kudos.dto.GiveKudos;
+import dc.vilnius.kudos.dto.HeroRankDto;
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import dc.vilnius.kudos.dto.KudosDigestClaim;
+import dc.vilnius.kudos.dto.KudosDigestDto;
 import dc.vilnius.kudos.dto.KudosDto;
+import dc.vilnius.kudos.dto.KudosNotificationDto;
+import dc.vilnius.kudos.dto.KudosSubmittedEvent;
+import dc.vilnius.kudos.dto.LeaderboardDto;
+import io.micronaut.context.event.ApplicationEventPublisher;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.time.LocalDate;
-import java.time.Month;
+import java.time.LocalDateTime;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
 import java.util.stream.StreamSupport;
+import javax.transaction.Transactional;
 
 @Singleton
 public class KudosFacade {
 
+  private static final Comparator<TallyKey> TALLY_ORDER =
+      Comparator.comparing(TallyKey::channel).thenComparing(TallyKey::yearMonth);
+
   private final KudosRepository kudosRepository;
+  private final KudosMonthlyTallyRepository kudosMonthlyTallyRepository;
+  private final LeaderboardLoader leaderboardLoader;
+  private final LeaderboardCache leaderboardCache;
+  private final LeaderboardIndex leaderboardIndex;
+  private final KudosNotificationOutbox kudosNotificationOutbox;
+  private final KudosDigests kudosDigests;
+  private final ApplicationEventPublisher<KudosSubmittedEvent> eventPublisher;
 
   @Inject
-  public KudosFacade(KudosRepository kudosRepository) {
+  public KudosFacade(KudosRepository kudosRepository,
+      KudosMonthlyTallyRepository kudosMonthlyTallyRepository, LeaderboardLoader leaderboardLoader,
+      LeaderboardCache leaderboardCache, LeaderboardIndex leaderboardIndex,
+      KudosNotificationOutbox kudosNotificationOutbox, KudosDigests kudosDigests,
+      ApplicationEventPublisher<KudosSubmittedEvent> eventPublisher) {
     this.kudosRepository = kudosRepository;
+    this.kudosMonthlyTallyRepository = kudosMonthlyTallyRepository;
+    this.leaderboardLoader = leaderboardLoader;
+    this.leaderboardCache = leaderboardCache;
+    this.leaderboardIndex = leaderboardIndex;
+    this.kudosNotificationOutbox = kudosNotificationOutbox;
+    this.kudosDigests = kudosDigests;
+    this.eventPublisher = eventPublisher;
   }
 
+  @Transactional
   public List<KudosDto> submit(GiveKudos giveKudos) {
+    return save(List.of(giveKudos));
+  }
+
+  @Transactional
+  public List<KudosDto> submitAll(List<GiveKudos> giveKudosList) {
+    return save(giveKudosList);
+  }
+
+  public LeaderboardDto findGivenMonthLeaderboard(String channelId, LocalDate date) {
+    return findGivenMonthLeaderboard(channelId, date, 0);
+  }
+
+  public LeaderboardDto findGivenYearLeaderboard(String channelId, LocalDate date) {
+    return findGivenYearLeaderboard(channelId, date, 0);
+  }
+
+  public LeaderboardDto findGivenMonthLeaderboard(String channelId, LocalDate date, int top) {
+    var key = LeaderboardKey.month(channelId, date);
+    return leaderboard(key, Leaderboards.top(monthHeroes(key), top));
+  }
+
+  public LeaderboardDto findGivenYearLeaderboard(String channelId, LocalDate date, int top) {
+    var key = LeaderboardKey.year(channelId, date);
+    return leaderboard(key, Leaderboards.top(heroes(key), top));
+  }
+
+  public Optional<HeroRankDto> findGivenMonthRank(String channelId, LocalDate date,
+      String username) {
+    return Leaderboards.rankOf(monthHeroes(LeaderboardKey.month(channelId, date)), username);
+  }
+
+  public Optional<HeroRankDto> findGivenYearRank(String channelId, LocalDate date,
+      String username) {
+    return Leaderboards.rankOf(heroes(LeaderboardKey.year(channelId, date)), username);
+  }
+
+  public List<KudosNotificationDto> claimPendingNotifications(int limit) {
+    return kudosNotificationOutbox.claim(limit);
+  }
+
+  public void completeNotifications(Map<UUID, String> delivered, Set<UUID> failed) {
+    kudosNotificationOutbox.complete(delivered, failed);
+  }
+
+  public Optional<KudosDigestClaim> claimDigest(String recipient, LocalDate date) {
+    return kudosDigests.claim(recipient, date);
+  }
+
+  public boolean completeDigest(KudosDigestClaim claim, KudosDigestDto current) {
+    return kudosDigests.complete(claim, current);
+  }
+
+  public void releaseDigest(KudosDigestClaim claim) {
+    kudosDigests.release(claim);
+  }
+
+  private List<HeroVotesDto> monthHeroes(LeaderboardKey key) {
+    return leaderboardIndex.month(key.channel(), key.firstDay()).orElseGet(() -> heroes(key));
+  }
+
+  private List<HeroVotesDto> heroes(LeaderboardKey key) {
+    return leaderboardCache.get(key, () -> leaderboardLoader.heroes(key));
+  }
+
+  private LeaderboardDto leaderboard(LeaderboardKey key, List<HeroVotesDto> heroes) {
+    return new LeaderboardDto(heroes, leaderboardLoader.messages(key, heroes));
+  }
+
+  private List<KudosDto> save(List<GiveKudos> giveKudosList) {
     var kudosList = new ArrayList<Kudos>();
-    for (String username : giveKudos.usernames()) {
-      var kudos = new Kudos();
-      kudos.setUsername(username);
-      kudos.setChannel(giveKudos.channel());
-      kudos.setMessage(giveKudos.message());
-      kudosList.add(kudos);
+    var votesByTally = new TreeMap<TallyKey, TreeMap<String, Long>>(TALLY_ORDER);
+    for (GiveKudos giveKudos : giveKudosList) {
+      var created = Objects.requireNonNullElseGet(giveKudos.created(), LocalDateTime::now);
+      for (String username : giveKudos.usernames()) {
+        var kudos = new Kudos();
+        kudos.setUsername(username);
+        kudos.setChannel(giveKudos.channel());
+        kudos.setMessage(giveKudos.message());
+        kudos.setCreateDate(created);
+        kudosList.add(kudos);
+      }
+      var yearMonth = created.toLocalDate().with(TemporalAdjusters.firstDayOfMonth());
+      var votesByHero = votesByTally.computeIfAbsent(new TallyKey(giveKudos.channel(), yearMonth),
+          key -> new TreeMap<>());
+      giveKudos.usernames().forEach(username -> votesByHero.merge(username, 1L, Long::sum));
     }
 
-    var savedKudos = kudosRepository.saveAll(kudosList);
-
-    return StreamSupport.stream(savedKudos.spliterator(), true)
-        .map(KudosMapper::entity2Dto)
+    var savedKudos = StreamSupport.stream(kudosRepository.saveAll(kudosList).spliterator(), false)
         .collect(toList());
-  }
+    kudosNotificationOutbox.add(savedKudos);
 
-  public List<KudosDto> findAllGivenMonthKudosBy(String channelId, LocalDate date) {
-    var currentTime = date.atStartOfDay();
-    var firstDayOfMonth = currentTime.with(TemporalAdjusters.firstDayOfMonth());
-    var lastDayOfMonth = currentTime.with(TemporalAdjusters.lastDayOfMonth());
-    return kudosRepository.findByChannelAndCreateDateBetweenOrderByUsername(channelId,
-            firstDayOfMonth, lastDayOfMonth).stream().map(KudosMapper::entity2Dto).collect(toList());
+    votesByTally.forEach((key, votesByHero) -> {
+      var usernames = new ArrayList<>(votesByHero.keySet());
+      var voteCounts = new ArrayList<>(votesByHero.values());
+      kudosMonthlyTallyRepository.upsertVotes(key.channel(), key.yearMonth(), usernames,
+          voteCounts);
+      var monthlyVotes = kudosMonthlyTallyRepository.findVotes(key.channel(), key.yearMonth(),
+          usernames);
+      eventPublisher.publishEvent(
+          new KudosSubmittedEvent(key.channel(), key.yearMonth(), monthlyVotes));
+    });
+    return savedKudos.stream().map(KudosMapper::entity2Dto).collect(toList());
   }
 
-  public List<KudosDto> findAllGivenYearKudosBy(String channelId, LocalDate date) {
-    var currentTime = date.atStartOfDay();
-    var firstDayOfMonth = currentTime.withMonth(Month.JANUARY.getValue())
-        .with(TemporalAdjusters.firstDayOfMonth());
-    var lastDayOfMonth = currentTime.withMonth(Month.DECEMBER.getValue())
-        .with(TemporalAdjusters.lastDayOfMonth());
-    return kudosRepository.findByChannelAndCreateDateBetweenOrderByUsername(channelId,
-        firstDayOfMonth, lastDayOfMonth).stream().map(KudosMapper::entity2Dto).collect(toList());
+  private record TallyKey(String channel, LocalDate yearMonth) {
+
   }
 }
@@ -1,5 +1,6 @@
 package dc.vilnius.kudos.domain;
 
+import dc.vilnius.kudos.dto.KudosDigestDto;
 import dc.vilnius.kudos.dto.KudosDto;
 
 class KudosMapper {
@@ -10,4 +11,10 @@ class KudosMapper {
         kudos.getCreateDate());
   }
 
+  static KudosDigestDto digest2Dto(KudosDigest digest) {
+    return new KudosDigestDto(digest.getRecipient(), digest.getYearMonth(), digest.getDmChannel(),
+        digest.getScheduledMessageId(), digest.getPostAt(), digest.getKudosCount(),
+        digest.getBody());
+  }
+
 }
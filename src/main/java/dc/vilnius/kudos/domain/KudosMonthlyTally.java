@@ -0,0 +1,86 @@
+package dc.vilnius.kudos.domain;
+
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.validation.constraints.NotNull;
+
+@Entity
+class KudosMonthlyTally {
+
+  @Id
+  @GeneratedValue
+  private UUID id;
+
+  @NotNull
+  private String channel;
+
+  @NotNull
+  private LocalDate yearMonth;
+
+  @NotNull
+  private String username;
+
+  private long voteCount;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public String getChannel() {
+    return channel;
+  }
+
+  public void setChannel(String channel) {
+    this.channel = channel;
+  }
+
+  public LocalDate getYearMonth() {
+    return yearMonth;
+  }
+
+  public void setYearMonth(LocalDate yearMonth) {
+    this.yearMonth = yearMonth;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public void setUsername(String username) {
+    this.username = username;
+  }
+
+  public long getVoteCount() {
+    return voteCount;
+  }
+
+  public void setVoteCount(long voteCount) {
+    this.voteCount = voteCount;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    KudosMonthlyTally tally = (KudosMonthlyTally) o;
+    return channel.equals(tally.channel) && yearMonth.equals(tally.yearMonth)
+        && username.equals(tally.username);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(channel, yearMonth, username);
+  }
+}
@@ -0,0 +1,36 @@
+package dc.vilnius.kudos.domain;
+
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+interface KudosMonthlyTallyRepository extends CrudRepository<KudosMonthlyTally, UUID> {
+
+  @Query(value = "INSERT INTO kudos_monthly_tally (channel, year_month, username, vote_count)"
+      + " SELECT :channel, :yearMonth, hero, votes"
+      + " FROM unnest(array[:usernames], array[:voteCounts]) AS votes_by_hero(hero, votes)"
+      + " ON CONFLICT (channel, year_month, username)"
+      + " DO UPDATE SET vote_count = kudos_monthly_tally.vote_count + excluded.vote_count",
+      nativeQuery = true)
+  void upsertVotes(String channel, LocalDate yearMonth, List<String> usernames,
+      List<Long> voteCounts);
+
+  @Query("SELECT t.username AS username, SUM(t.voteCount) AS voteCount FROM KudosMonthlyTally t"
+      + " WHERE t.channel = :channel AND t.yearMonth BETWEEN :from AND :to"
+      + " GROUP BY t.username ORDER BY SUM(t.voteCount) DESC, t.username")
+  List<HeroVotesDto> sumByUsernameGroupedForChannelBetween(String channel, LocalDate from, LocalDate to);
+
+  @Query("SELECT t.username AS username, t.voteCount AS voteCount FROM KudosMonthlyTally t"
+      + " WHERE t.channel = :channel AND t.yearMonth = :yearMonth AND t.username IN (:usernames)")
+  List<HeroVotesDto> findVotes(String channel, LocalDate yearMonth, List<String> usernames);
+
+  List<KudosMonthlyTally> findByYearMonthGreaterThanEqual(LocalDate yearMonth);
+
+  @Query(value = "SELECT CAST(pg_notify(:channel, :payload) AS text)", nativeQuery = true)
+  String notifyListeners(String channel, String payload);
+}
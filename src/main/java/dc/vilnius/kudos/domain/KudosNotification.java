@@ -0,0 +1,131 @@
+package dc.vilnius.kudos.domain;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.validation.constraints.NotNull;
+
+@Entity
+class KudosNotification {
+
+  @Id
+  @GeneratedValue
+  private UUID id;
+
+  @NotNull
+  private UUID kudosId;
+
+  @NotNull
+  private String recipient;
+
+  @NotNull
+  private String message;
+
+  @NotNull
+  @Enumerated(EnumType.STRING)
+  private KudosNotificationStatus status;
+
+  private int attempts;
+
+  @NotNull
+  private LocalDateTime nextAttemptAt;
+
+  private String scheduledMessageId;
+
+  @NotNull
+  private LocalDateTime createDate;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public void setId(UUID id) {
+    this.id = id;
+  }
+
+  public UUID getKudosId() {
+    return kudosId;
+  }
+
+  public void setKudosId(UUID kudosId) {
+    this.kudosId = kudosId;
+  }
+
+  public String getRecipient() {
+    return recipient;
+  }
+
+  public void setRecipient(String recipient) {
+    this.recipient = recipient;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  public void setMessage(String message) {
+    this.message = message;
+  }
+
+  public KudosNotificationStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(KudosNotificationStatus status) {
+    this.status = status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public LocalDateTime getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public String getScheduledMessageId() {
+    return scheduledMessageId;
+  }
+
+  public void setScheduledMessageId(String scheduledMessageId) {
+    this.scheduledMessageId = scheduledMessageId;
+  }
+
+  public LocalDateTime getCreateDate() {
+    return createDate;
+  }
+
+  public void setCreateDate(LocalDateTime createDate) {
+    this.createDate = createDate;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    KudosNotification that = (KudosNotification) o;
+    return kudosId.equals(that.kudosId);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(kudosId);
+  }
+}
@@ -0,0 +1,90 @@
+package dc.vilnius.kudos.domain;
+
+import static java.util.stream.Collectors.toList;
+
+import dc.vilnius.kudos.dto.KudosNotificationDto;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import javax.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+class KudosNotificationOutbox {
+
+  private final Logger logger = LoggerFactory.getLogger(KudosNotificationOutbox.class);
+
+  private final KudosNotificationRepository kudosNotificationRepository;
+  private final Duration lease;
+  private final int maxAttempts;
+  private final Duration backoff;
+
+  KudosNotificationOutbox(KudosNotificationRepository kudosNotificationRepository,
+      @Value("${hero.kudos.notifications.lease:5m}") Duration lease,
+      @Value("${hero.kudos.notifications.max-attempts:5}") int maxAttempts,
+      @Value("${hero.kudos.notifications.backoff:1m}") Duration backoff) {
+    this.kudosNotificationRepository = kudosNotificationRepository;
+    this.lease = lease;
+    this.maxAttempts = maxAttempts;
+    this.backoff = backoff;
+  }
+
+  void add(List<Kudos> kudosList) {
+    var now = LocalDateTime.now();
+    var notifications = kudosList.stream().map(kudos -> {
+      var notification = new KudosNotification();
+      notification.setKudosId(kudos.getId());
+      notification.setRecipient(kudos.getUsername());
+      notification.setMessage(kudos.getMessage());
+      notification.setStatus(KudosNotificationStatus.PENDING);
+      notification.setNextAttemptAt(now);
+      notification.setCreateDate(kudos.getCreateDate());
+      return notification;
+    }).collect(toList());
+    kudosNotificationRepository.saveAll(notifications);
+  }
+
+  @Transactional
+  List<KudosNotificationDto> claim(int limit) {
+    var now = LocalDateTime.now();
+    var notifications = kudosNotificationRepository.findPendingForUpdate(now, limit);
+    for (KudosNotification notification : notifications) {
+      notification.setAttempts(notification.getAttempts() + 1);
+      notification.setNextAttemptAt(now.plus(lease));
+    }
+    return notifications.stream()
+        .map(notification -> new KudosNotificationDto(notification.getId(),
+            notification.getRecipient(), notification.getMessage(),
+            notification.getCreateDate()))
+        .collect(toList());
+  }
+
+  @Transactional
+  void complete(Map<UUID, String> delivered, Set<UUID> failed) {
+    var now = LocalDateTime.now();
+    for (KudosNotification notification : findAll(delivered.keySet())) {
+      notification.setStatus(KudosNotificationStatus.SENT);
+      notification.setScheduledMessageId(delivered.get(notification.getId()));
+    }
+    for (KudosNotification notification : findAll(failed)) {
+      if (notification.getAttempts() >= maxAttempts) {
+        logger.error("Giving up on notification {} for user {} after {} attempts",
+            notification.getId(), notification.getRecipient(), notification.getAttempts());
+        notification.setStatus(KudosNotificationStatus.FAILED);
+      } else {
+        notification.setNextAttemptAt(
+            now.plus(backoff.multipliedBy(1L << (notification.getAttempts() - 1))));
+      }
+    }
+  }
+
+  private List<KudosNotification> findAll(Set<UUID> ids) {
+    return ids.isEmpty() ? List.of() : kudosNotificationRepository.findByIdIn(ids);
+  }
+}
@@ -0,0 +1,21 @@
+package dc.vilnius.kudos.domain;
+
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.Repository;
+import io.micronaut.data.repository.CrudRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+interface KudosNotificationRepository extends CrudRepository<KudosNotification, UUID> {
+
+  @Query(value = "SELECT * FROM kudos_notification"
+      + " WHERE status = 'PENDING' AND next_attempt_at <= :now"
+      + " ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+      nativeQuery = true)
+  List<KudosNotification> findPendingForUpdate(LocalDateTime now, int limit);
+
+  List<KudosNotification> findByIdIn(Collection<UUID> ids);
+}
@@ -0,0 +1,7 @@
+package dc.vilnius.kudos.domain;
+
+enum KudosNotificationStatus {
+  PENDING,
+  SENT,
+  FAILED
+}
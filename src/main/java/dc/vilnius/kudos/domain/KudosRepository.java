@@ -1,13 +1,25 @@
 package dc.vilnius.kudos.domain;
 
+import dc.vilnius.kudos.dto.KudosDto;
+import io.micronaut.data.annotation.Query;
+import io.micronaut.data.annotation.QueryHint;
 import io.micronaut.data.annotation.Repository;
 import io.micronaut.data.repository.CrudRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 interface KudosRepository extends CrudRepository<Kudos, UUID> {
 
-  List<Kudos> findByChannelAndCreateDateBetweenOrderByUsername(String channel, LocalDateTime firstDayOfMonth, LocalDateTime lastDayOfMonth);
+  @Query("SELECT k.channel AS channel, k.username AS username, k.message AS message,"
+      + " k.createDate AS created FROM Kudos k"
+      + " WHERE k.channel = :channel AND k.username IN (:usernames)"
+      + " AND k.createDate BETWEEN :from AND :to"
+      + " ORDER BY k.username, k.createDate")
+  @QueryHint(name = "org.hibernate.fetchSize", value = "500")
+  @QueryHint(name = "org.hibernate.readOnly", value = "true")
+  Stream<KudosDto> queryByChannelAndUsernameInAndCreateDateBetweenOrderByUsername(String channel,
+      List<String> usernames, LocalDateTime from, LocalDateTime to);
 }
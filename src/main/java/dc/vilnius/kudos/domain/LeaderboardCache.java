@@ -0,0 +1,43 @@
+package dc.vilnius.kudos.domain;
+
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import dc.vilnius.kudos.dto.KudosSubmittedEvent;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.core.type.Argument;
+import io.micronaut.transaction.annotation.TransactionalEventListener;
+import io.micronaut.transaction.annotation.TransactionalEventListener.TransactionPhase;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Singleton
+class LeaderboardCache {
+
+  private static final Argument<List<HeroVotesDto>> HEROES = Argument.listOf(HeroVotesDto.class);
+
+  private final SyncCache<?> cache;
+
+  LeaderboardCache(@Named("leaderboard") SyncCache<?> cache) {
+    this.cache = cache;
+  }
+
+  List<HeroVotesDto> get(LeaderboardKey key, Supplier<List<HeroVotesDto>> loader) {
+    return cache.get(key, HEROES, loader);
+  }
+
+  void invalidate(String channel, LocalDate date) {
+    cache.invalidate(LeaderboardKey.month(channel, date));
+    cache.invalidate(LeaderboardKey.year(channel, date));
+  }
+
+  void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @TransactionalEventListener(TransactionPhase.AFTER_COMMIT)
+  void onKudosSubmitted(KudosSubmittedEvent event) {
+    invalidate(event.channel(), event.date());
+  }
+}
@@ -0,0 +1,121 @@
+package dc.vilnius.kudos.domain;
+
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import dc.vilnius.kudos.dto.KudosSubmittedEvent;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.runtime.event.annotation.EventListener;
+import io.micronaut.transaction.annotation.TransactionalEventListener;
+import io.micronaut.transaction.annotation.TransactionalEventListener.TransactionPhase;
+import jakarta.inject.Singleton;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+class LeaderboardIndex {
+
+  private static final Comparator<HeroVotesDto> RANKING_ORDER =
+      Comparator.comparingLong(HeroVotesDto::voteCount).reversed()
+          .thenComparing(HeroVotesDto::username);
+
+  private final Logger logger = LoggerFactory.getLogger(LeaderboardIndex.class);
+
+  private final KudosMonthlyTallyRepository kudosMonthlyTallyRepository;
+  private final ConcurrentHashMap<MonthKey, Ranking> rankings = new ConcurrentHashMap<>();
+  private volatile LocalDate indexedFrom = LocalDate.MAX;
+  private volatile boolean ready;
+
+  LeaderboardIndex(KudosMonthlyTallyRepository kudosMonthlyTallyRepository) {
+    this.kudosMonthlyTallyRepository = kudosMonthlyTallyRepository;
+  }
+
+  @EventListener
+  void onStartup(StartupEvent event) {
+    try {
+      warm(LocalDate.now().with(TemporalAdjusters.firstDayOfYear()));
+    } catch (RuntimeException e) {
+      logger.error("Failed to warm the leaderboard index, serving leaderboards from the database",
+          e);
+    }
+  }
+
+  void warm(LocalDate from) {
+    indexedFrom = from;
+    var tallies = kudosMonthlyTallyRepository.findByYearMonthGreaterThanEqual(from);
+    for (KudosMonthlyTally tally : tallies) {
+      ranking(tally.getChannel(), tally.getYearMonth())
+          .merge(tally.getUsername(), tally.getVoteCount());
+    }
+    ready = true;
+    logger.info("Indexed {} monthly tallies since {} into {} leaderboards", tallies.size(), from,
+        rankings.size());
+  }
+
+  void rewarm() {
+    if (ready) {
+      warm(indexedFrom);
+    }
+  }
+
+  @TransactionalEventListener(TransactionPhase.AFTER_COMMIT)
+  void onKudosSubmitted(KudosSubmittedEvent event) {
+    update(event.channel(), event.date(), event.monthlyVotes());
+  }
+
+  void update(String channel, LocalDate date, List<HeroVotesDto> monthlyVotes) {
+    var yearMonth = date.with(TemporalAdjusters.firstDayOfMonth());
+    if (yearMonth.isBefore(indexedFrom)) {
+      return;
+    }
+    var ranking = ranking(channel, yearMonth);
+    monthlyVotes.forEach(votes -> ranking.merge(votes.username(), votes.voteCount()));
+  }
+
+  Optional<List<HeroVotesDto>> month(String channel, LocalDate date) {
+    var yearMonth = date.with(TemporalAdjusters.firstDayOfMonth());
+    if (!ready || yearMonth.isBefore(indexedFrom)) {
+      return Optional.empty();
+    }
+    var ranking = rankings.get(new MonthKey(channel, yearMonth));
+    return Optional.of(ranking == null ? List.of() : ranking.heroes());
+  }
+
+  private Ranking ranking(String channel, LocalDate yearMonth) {
+    return rankings.computeIfAbsent(new MonthKey(channel, yearMonth), key -> new Ranking());
+  }
+
+  private record MonthKey(String channel, LocalDate yearMonth) {
+
+  }
+
+  private static class Ranking {
+
+    private final ConcurrentHashMap<String, HeroVotesDto> votesByHero = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<HeroVotesDto> ranking =
+        new ConcurrentSkipListSet<>(RANKING_ORDER);
+
+    void merge(String hero, long voteCount) {
+      votesByHero.compute(hero, (username, current) -> {
+        if (current != null && current.voteCount() >= voteCount) {
+          return current;
+        }
+        var updated = new HeroVotesDto(username, voteCount);
+        ranking.add(updated);
+        if (current != null) {
+          ranking.remove(current);
+        }
+        return updated;
+      });
+    }
+
+    List<HeroVotesDto> heroes() {
+      return List.copyOf(ranking);
+    }
+  }
+}
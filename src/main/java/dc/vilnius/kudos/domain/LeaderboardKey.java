@@ -0,0 +1,17 @@
+package dc.vilnius.kudos.domain;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+record LeaderboardKey(String channel, LocalDate firstDay, LocalDate lastDay) {
+
+  static LeaderboardKey month(String channel, LocalDate date) {
+    return new LeaderboardKey(channel, date.with(TemporalAdjusters.firstDayOfMonth()),
+        date.with(TemporalAdjusters.lastDayOfMonth()));
+  }
+
+  static LeaderboardKey year(String channel, LocalDate date) {
+    return new LeaderboardKey(channel, date.with(TemporalAdjusters.firstDayOfYear()),
+        date.with(TemporalAdjusters.lastDayOfYear()));
+  }
+}
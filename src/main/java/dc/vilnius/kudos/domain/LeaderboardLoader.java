@@ -0,0 +1,56 @@
+package dc.vilnius.kudos.domain;
+
+import static java.util.stream.Collectors.toList;
+
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import dc.vilnius.kudos.dto.KudosDto;
+import io.micronaut.transaction.annotation.ReadOnly;
+import jakarta.inject.Singleton;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Singleton
+class LeaderboardLoader {
+
+  private final KudosRepository kudosRepository;
+  private final KudosMonthlyTallyRepository kudosMonthlyTallyRepository;
+
+  LeaderboardLoader(KudosRepository kudosRepository,
+      KudosMonthlyTallyRepository kudosMonthlyTallyRepository) {
+    this.kudosRepository = kudosRepository;
+    this.kudosMonthlyTallyRepository = kudosMonthlyTallyRepository;
+  }
+
+  @ReadOnly
+  List<HeroVotesDto> heroes(LeaderboardKey key) {
+    return kudosMonthlyTallyRepository.sumByUsernameGroupedForChannelBetween(key.channel(),
+        key.firstDay().with(TemporalAdjusters.firstDayOfMonth()),
+        key.lastDay().with(TemporalAdjusters.firstDayOfMonth()));
+  }
+
+  @ReadOnly
+  Map<String, List<String>> messages(LeaderboardKey key, List<HeroVotesDto> heroes) {
+    if (heroes.isEmpty()) {
+      return Map.of();
+    }
+    var usernames = heroes.stream().map(HeroVotesDto::username).collect(toList());
+    try (var kudos = kudosRepository.queryByChannelAndUsernameInAndCreateDateBetweenOrderByUsername(
+        key.channel(), usernames, key.firstDay().atStartOfDay(),
+        key.lastDay().atTime(LocalTime.MAX))) {
+      return groupMessagesByHero(kudos);
+    }
+  }
+
+  static Map<String, List<String>> groupMessagesByHero(Stream<KudosDto> kudos) {
+    var messagesByHero = new HashMap<String, List<String>>();
+    kudos.forEach(dto -> messagesByHero.computeIfAbsent(dto.username(), hero -> new ArrayList<>())
+        .add(dto.message()));
+    return Collections.unmodifiableMap(messagesByHero);
+  }
+}
@@ -0,0 +1,172 @@
+package dc.vilnius.kudos.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import dc.vilnius.kudos.dto.KudosSubmittedEvent;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.event.StartupEvent;
+import io.micronaut.core.annotation.Introspected;
+import io.micronaut.runtime.event.annotation.EventListener;
+import jakarta.inject.Singleton;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+@Requires(property = "hero.kudos.leaderboard.notifications.enabled", notEquals = "false")
+class LeaderboardNotifications {
+
+  static final String CHANNEL = "kudos_leaderboard";
+  private static final int HEROES_PER_NOTIFICATION = 100;
+
+  private final Logger logger = LoggerFactory.getLogger(LeaderboardNotifications.class);
+
+  private final String origin = UUID.randomUUID().toString();
+  private final DataSource dataSource;
+  private final ObjectMapper objectMapper;
+  private final KudosMonthlyTallyRepository kudosMonthlyTallyRepository;
+  private final LeaderboardCache leaderboardCache;
+  private final LeaderboardIndex leaderboardIndex;
+  private final Duration pollTimeout;
+  private final Duration reconnectDelay;
+  private final CountDownLatch listening = new CountDownLatch(1);
+  private volatile boolean running;
+  private Thread listener;
+
+  LeaderboardNotifications(DataSource dataSource, ObjectMapper objectMapper,
+      KudosMonthlyTallyRepository kudosMonthlyTallyRepository, LeaderboardCache leaderboardCache,
+      LeaderboardIndex leaderboardIndex,
+      @Value("${hero.kudos.leaderboard.notifications.poll-timeout:1s}") Duration pollTimeout,
+      @Value("${hero.kudos.leaderboard.notifications.reconnect-delay:5s}")
+          Duration reconnectDelay) {
+    this.dataSource = dataSource;
+    this.objectMapper = objectMapper;
+    this.kudosMonthlyTallyRepository = kudosMonthlyTallyRepository;
+    this.leaderboardCache = leaderboardCache;
+    this.leaderboardIndex = leaderboardIndex;
+    this.pollTimeout = pollTimeout;
+    this.reconnectDelay = reconnectDelay;
+  }
+
+  @EventListener
+  void onStartup(StartupEvent event) {
+    start();
+  }
+
+  synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    listener = new Thread(this::listen, "leaderboard-notifications");
+    listener.setDaemon(true);
+    listener.start();
+  }
+
+  @PreDestroy
+  synchronized void stop() {
+    running = false;
+    if (listener != null) {
+      listener.interrupt();
+    }
+  }
+
+  boolean awaitListening(Duration timeout) throws InterruptedException {
+    return listening.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @EventListener
+  void onKudosSubmitted(KudosSubmittedEvent event) {
+    var votes = event.monthlyVotes();
+    for (int from = 0; from < Math.max(1, votes.size()); from += HEROES_PER_NOTIFICATION) {
+      var chunk = votes.subList(from, Math.min(votes.size(), from + HEROES_PER_NOTIFICATION));
+      var notification = new LeaderboardNotification(origin, event.channel(), event.date(), chunk);
+      try {
+        kudosMonthlyTallyRepository.notifyListeners(CHANNEL,
+            objectMapper.writeValueAsString(notification));
+      } catch (JsonProcessingException e) {
+        throw new IllegalStateException("Failed to serialize the leaderboard notification", e);
+      }
+    }
+  }
+
+  private void listen() {
+    var connected = false;
+    while (running) {
+      try (var connection = dataSource.getConnection()) {
+        connection.setAutoCommit(true);
+        try (var statement = connection.createStatement()) {
+          statement.execute("LISTEN " + CHANNEL);
+        }
+        if (connected) {
+          resync();
+        }
+        connected = true;
+        listening.countDown();
+        logger.info("Listening for leaderboard notifications on {}", CHANNEL);
+        var pgConnection = connection.unwrap(PGConnection.class);
+        while (running) {
+          var notifications = pgConnection.getNotifications((int) pollTimeout.toMillis());
+          if (notifications != null) {
+            for (PGNotification notification : notifications) {
+              receive(notification.getParameter());
+            }
+          }
+        }
+      } catch (SQLException | RuntimeException e) {
+        if (running) {
+          logger.error("Lost the leaderboard notification connection, reconnecting in {}",
+              reconnectDelay, e);
+          sleep(reconnectDelay);
+        }
+      }
+    }
+  }
+
+  private void receive(String payload) {
+    try {
+      var notification = objectMapper.readValue(payload, LeaderboardNotification.class);
+      if (origin.equals(notification.origin())) {
+        return;
+      }
+      leaderboardCache.invalidate(notification.channel(), notification.date());
+      leaderboardIndex.update(notification.channel(), notification.date(),
+          notification.monthlyVotes());
+    } catch (JsonProcessingException e) {
+      logger.error("Ignoring malformed leaderboard notification {}", payload, e);
+    }
+  }
+
+  private void resync() {
+    logger.info("Reconnected, reloading leaderboards to catch up on missed notifications");
+    leaderboardCache.invalidateAll();
+    leaderboardIndex.rewarm();
+  }
+
+  private void sleep(Duration delay) {
+    try {
+      TimeUnit.MILLISECONDS.sleep(delay.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      running = false;
+    }
+  }
+
+  @Introspected
+  record LeaderboardNotification(String origin, String channel, LocalDate date,
+                                 List<HeroVotesDto> monthlyVotes) {
+
+  }
+}
@@ -0,0 +1,32 @@
+package dc.vilnius.kudos.domain;
+
+import dc.vilnius.kudos.dto.HeroRankDto;
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import java.util.List;
+import java.util.Optional;
+
+class Leaderboards {
+
+  private Leaderboards() {}
+
+  static List<HeroVotesDto> top(List<HeroVotesDto> heroes, int top) {
+    if (top <= 0 || heroes.size() <= top) {
+      return heroes;
+    }
+    return List.copyOf(heroes.subList(0, top));
+  }
+
+  static Optional<HeroRankDto> rankOf(List<HeroVotesDto> heroes, String username) {
+    var rank = 0;
+    for (int i = 0; i < heroes.size(); i++) {
+      var hero = heroes.get(i);
+      if (i == 0 || hero.voteCount() != heroes.get(i - 1).voteCount()) {
+        rank = i + 1;
+      }
+      if (hero.username().equals(username)) {
+        return Optional.of(new HeroRankDto(username, rank, hero.voteCount()));
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -1,7 +1,9 @@
 package dc.vilnius.kudos.dto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
-public record GiveKudos (String channel, List<String> usernames, String message) {
+public record GiveKudos (String channel, List<String> usernames, String message,
+    LocalDateTime created) {
 
 }
@@ -0,0 +1,5 @@
+package dc.vilnius.kudos.dto;
+
+public record HeroRankDto(String username, int rank, long voteCount) {
+
+}
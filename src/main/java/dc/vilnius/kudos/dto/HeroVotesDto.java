@@ -0,0 +1,8 @@
+package dc.vilnius.kudos.dto;
+
+import io.micronaut.core.annotation.Introspected;
+
+@Introspected
+public record HeroVotesDto(String username, long voteCount) {
+
+}
@@ -0,0 +1,8 @@
+package dc.vilnius.kudos.dto;
+
+import java.time.LocalDate;
+
+public record KudosDigestClaim(String recipient, LocalDate yearMonth, long version,
+    KudosDigestDto previous) {
+
+}
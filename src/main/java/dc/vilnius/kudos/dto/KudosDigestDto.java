@@ -0,0 +1,9 @@
+package dc.vilnius.kudos.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record KudosDigestDto(String recipient, LocalDate yearMonth, String channel,
+    String scheduledMessageId, LocalDateTime postAt, int kudosCount, String body) {
+
+}
@@ -1,7 +1,9 @@
 package dc.vilnius.kudos.dto;
 
+import io.micronaut.core.annotation.Introspected;
 import java.time.LocalDateTime;
 
+@Introspected
 public record KudosDto(String channel, String username, String message, LocalDateTime created) {
 
 }
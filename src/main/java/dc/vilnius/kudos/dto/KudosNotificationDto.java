@@ -0,0 +1,9 @@
+package dc.vilnius.kudos.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record KudosNotificationDto(UUID id, String recipient, String message,
+    LocalDateTime created) {
+
+}
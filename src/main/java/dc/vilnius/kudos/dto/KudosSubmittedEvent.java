@@ -0,0 +1,9 @@
+package dc.vilnius.kudos.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record KudosSubmittedEvent(String channel, LocalDate date,
+                                  List<HeroVotesDto> monthlyVotes) {
+
+}
@@ -0,0 +1,8 @@
+package dc.vilnius.kudos.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record LeaderboardDto(List<HeroVotesDto> heroes, Map<String, List<String>> messagesByHero) {
+
+}
@@ -3,59 +3,121 @@ package dc.vilnius.slack;
 import static dc.vilnius.slack.domain.HeroesOfTheMonthDateUtil.heroesLeaderBoardAvailableFrom;
 import static dc.vilnius.slack.domain.HeroesOfTheMonthDateUtil.isAllowedToRevealHeroesLeaderboard;
 
+import com.slack.api.Slack;
+import com.slack.api.SlackConfig;
 import com.slack.api.bolt.App;
 import com.slack.api.bolt.AppConfig;
+import com.slack.api.bolt.handler.builtin.SlashCommandHandler;
+import com.slack.api.bolt.socket_mode.SocketModeApp;
+import com.slack.api.methods.MethodsClient;
+import com.slack.api.socket_mode.SocketModeClient;
+import com.slack.api.util.http.SlackHttpClient;
 import dc.vilnius.slack.domain.CommandParser;
-import dc.vilnius.slack.domain.MessageGenerator;
+import dc.vilnius.slack.dto.LeaderboardCommand;
 import dc.vilnius.tasks.GetKudosOfTheMonthEmitter;
 import dc.vilnius.tasks.GetKudosOfTheYearEmitter;
 import dc.vilnius.tasks.SubmitKudosEmitter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Context;
 import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.NamedThreadFactory;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 
 @Factory
 public class SlackFactory {
 
+  public static final String SLACK_API = "slack-api";
+  public static final String SOCKET_MODE = "hero.slack.socket-mode.enabled";
+
+  private static final String LEADERBOARD_BUSY_MESSAGE =
+      "Too many leaderboard requests right now, please try again in a minute";
+  private static final String LEADERBOARD_USAGE_MESSAGE =
+      "Usage: [yyyy-MM-dd] [top=N], e.g. 2021-09-01 top=20";
+  private static final String YEAR_LEADERBOARD_USAGE_MESSAGE = "Usage: [top=N], e.g. top=20";
+  private static final String VOTE_BUSY_MESSAGE =
+      "Too many votes right now, please try again in a minute";
+  private static final String VOTE_USAGE_MESSAGE =
+      "Mention at least one hero, e.g. /hero-vote @name thanks for the help";
+
   @Singleton
-  public AppConfig createAppConfig() {
-    return new AppConfig();
+  public Slack createSlack(
+      @Value("${hero.slack.http.max-idle-connections:5}") int maxIdleConnections,
+      @Value("${hero.slack.http.keep-alive:5m}") Duration keepAlive) {
+    var httpClient = new OkHttpClient.Builder()
+        .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(),
+            TimeUnit.MILLISECONDS))
+        .build();
+    return Slack.getInstance(new SlackConfig(), new SlackHttpClient(httpClient));
+  }
+
+  @Singleton
+  public AppConfig createAppConfig(Slack slack) {
+    var appConfig = new AppConfig();
+    appConfig.setSlack(slack);
+    return appConfig;
+  }
+
+  @Singleton
+  @Bean(preDestroy = "shutdown")
+  @Named(SLACK_API)
+  public ExecutorService createSlackApiExecutor(
+      @Value("${hero.slack.api.parallelism:8}") int parallelism) {
+    return Executors.newFixedThreadPool(parallelism, new NamedThreadFactory(SLACK_API));
+  }
+
+  @Singleton
+  public MethodsClient createMethodsClient(Slack slack, AppConfig appConfig) {
+    return slack.methods(appConfig.getSingleTeamBotToken());
   }
 
   @Singleton
   public App createApp(AppConfig appConfig, GetKudosOfTheMonthEmitter getKudosOfTheMonthEmitter,
-      GetKudosOfTheYearEmitter getKudosOfTheYearEmitter, SubmitKudosEmitter submitKudosEmitter) {
+      GetKudosOfTheYearEmitter getKudosOfTheYearEmitter, SubmitKudosEmitter submitKudosEmitter,
+      MeterRegistry meterRegistry, @Value("${hero.kudos.leaderboard.top:0}") int leaderboardTop) {
     App app = new App(appConfig);
 
     app.command("/hero-ping", (req, ctx) -> ctx.ack("pong"));
 
-    app.command("/hero-vote", (req, ctx) -> {
-      var commandArgText = req.getPayload().getText();
-      var channelId = req.getPayload().getChannelId();
-      var userId = req.getPayload().getUserId();
-      var parsedMessage = CommandParser.parse(commandArgText);
-      if (parsedMessage.users().contains(userId)) {
-        return ctx.ack("Really? No cheating mate!");
+    timedCommand(app, meterRegistry, "/hero-vote", (req, ctx) -> {
+      var payload = req.getPayload();
+      if (payload.getText() == null || payload.getText().isBlank()) {
+        return ctx.ack(VOTE_USAGE_MESSAGE);
       }
-
-      submitKudosEmitter.publish(channelId, parsedMessage.users(), parsedMessage.message());
-      var successMessages = parsedMessage.users().stream()
-          .map(MessageGenerator::randomSuccessMessage).collect(
-              Collectors.joining(";"));
-
-      return ctx.ack(successMessages);
+      if (!submitKudosEmitter.publish(payload.getChannelId(), payload.getUserId(),
+          payload.getText(), payload.getResponseUrl())) {
+        return ctx.ack(VOTE_BUSY_MESSAGE);
+      }
+      return ctx.ack();
     });
 
-    app.command("/heroes-of-the-month", (req, ctx) -> {
+    timedCommand(app, meterRegistry, "/heroes-of-the-month", (req, ctx) -> {
       var channelId = req.getPayload().getChannelId();
       var userId = req.getPayload().getUserId();
-      var commandArgText = req.getPayload().getText();
-      var date = Optional.ofNullable(commandArgText)
-          .map(LocalDate::parse).orElse(LocalDate.now());
+      LeaderboardCommand command;
+      try {
+        command = CommandParser.parseLeaderboard(req.getPayload().getText(), LocalDate.now(),
+            leaderboardTop);
+      } catch (IllegalArgumentException | DateTimeException e) {
+        return ctx.ack(LEADERBOARD_USAGE_MESSAGE);
+      }
+      var date = command.date();
       if (isAllowedToRevealHeroesLeaderboard(date)) {
-        getKudosOfTheMonthEmitter.publish(channelId, userId, date);
+        if (!getKudosOfTheMonthEmitter.publish(channelId, userId, date, command.top())) {
+          return ctx.ack(LEADERBOARD_BUSY_MESSAGE);
+        }
         return ctx.ack("Working on it! Loading heroes of the month...");
       } else {
         return ctx.ack("It's too early to reveal heroes! Available from: "
@@ -63,13 +125,47 @@ public class SlackFactory {
       }
     });
 
-    app.command("/heroes-of-the-year", (req, ctx) -> {
+    timedCommand(app, meterRegistry, "/heroes-of-the-year", (req, ctx) -> {
       var channelId = req.getPayload().getChannelId();
       var userId = req.getPayload().getUserId();
-      getKudosOfTheYearEmitter.publish(channelId, userId);
+      int top;
+      try {
+        top = CommandParser.parseYearLeaderboard(req.getPayload().getText(), leaderboardTop);
+      } catch (IllegalArgumentException e) {
+        return ctx.ack(YEAR_LEADERBOARD_USAGE_MESSAGE);
+      }
+      if (!getKudosOfTheYearEmitter.publish(channelId, userId, top)) {
+        return ctx.ack(LEADERBOARD_BUSY_MESSAGE);
+      }
       return ctx.ack("Working on it! Loading heroes of the year...");
     });
 
     return app;
   }
+
+  @Context
+  @Bean(preDestroy = "close")
+  @Requires(property = SOCKET_MODE, value = "true")
+  public SocketModeApp createSocketModeApp(App app,
+      @Value("${hero.slack.socket-mode.app-token}") String appToken) throws Exception {
+    var socketModeApp = new SocketModeApp(appToken, SocketModeClient.Backend.JavaWebSocket, app);
+    socketModeApp.startAsync();
+    return socketModeApp;
+  }
+
+  private static void timedCommand(App app, MeterRegistry meterRegistry, String command,
+      SlashCommandHandler handler) {
+    var timer = Timer.builder("slack.command.ack")
+        .tag("command", command)
+        .publishPercentiles(0.5, 0.99, 0.999)
+        .register(meterRegistry);
+    app.command(command, (req, ctx) -> {
+      var start = System.nanoTime();
+      try {
+        return handler.apply(req, ctx);
+      } finally {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    });
+  }
 }
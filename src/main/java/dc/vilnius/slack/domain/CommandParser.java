@@ -1,29 +1,127 @@
 package dc.vilnius.slack.domain;
 
+import dc.vilnius.slack.dto.LeaderboardCommand;
 import dc.vilnius.slack.dto.SlackMessage;
-import java.util.ArrayList;
-import java.util.regex.Pattern;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 public class CommandParser {
 
-  private static final Pattern MESSAGE_PATTERN = Pattern.compile("(\\s+\\w.*)", Pattern.CASE_INSENSITIVE);
-  private static final Pattern USER_PATTERN = Pattern.compile("(@[\\w|.]+)", Pattern.CASE_INSENSITIVE);
+  private static final String SUBTEAM = "subteam^";
+  private static final String TOP = "top=";
 
   private CommandParser() {}
 
   public static SlackMessage parse(String message) {
-    var usersMatcher = USER_PATTERN.matcher(message);
-    var users = new ArrayList<String>();
-    while(usersMatcher.find()) {
-      for(int i = 1; i <= usersMatcher.groupCount(); i++) {
-        var raw = usersMatcher.group(i).split("\\|");
-        var id = raw[0].replace("@", "");
-        users.add(id);
+    var users = new LinkedHashSet<String>();
+    var usergroups = new LinkedHashSet<String>();
+    var channels = new LinkedHashSet<String>();
+    var bodyStart = -1;
+    var length = message.length();
+    var i = 0;
+    while (i < length) {
+      var c = message.charAt(i);
+      if (c == '<' && i + 1 < length) {
+        var end = message.indexOf('>', i + 2);
+        var kind = message.charAt(i + 1);
+        if (end > 0 && (kind == '@' || kind == '#' || kind == '!')) {
+          addEscape(message, kind, i + 2, end, users, usergroups, channels);
+          i = end + 1;
+          continue;
+        }
+      } else if (c == '@' && (i == 0 || isSeparator(message.charAt(i - 1)))) {
+        var end = i + 1;
+        while (end < length && isNameChar(message.charAt(end))) {
+          end++;
+        }
+        if (end > i + 1) {
+          users.add(message.substring(i + 1, idEnd(message, i + 1, end)));
+          i = end;
+          continue;
+        }
       }
+      if (bodyStart < 0 && !isSeparator(c)) {
+        bodyStart = i;
+      }
+      i++;
+    }
+    var body = bodyStart < 0 ? null : message.substring(bodyStart).strip();
+
+    return new SlackMessage(List.copyOf(users), List.copyOf(usergroups), List.copyOf(channels),
+        body);
+  }
+
+  public static LeaderboardCommand parseLeaderboard(String text, LocalDate defaultDate,
+      int defaultTop) {
+    var date = defaultDate;
+    var top = defaultTop;
+    for (String argument : arguments(text)) {
+      if (argument.startsWith(TOP)) {
+        top = parseTop(argument);
+      } else {
+        date = LocalDate.parse(argument);
+      }
+    }
+    return new LeaderboardCommand(date, top);
+  }
+
+  public static int parseYearLeaderboard(String text, int defaultTop) {
+    var top = defaultTop;
+    for (String argument : arguments(text)) {
+      if (!argument.startsWith(TOP)) {
+        throw new IllegalArgumentException("Unexpected argument " + argument);
+      }
+      top = parseTop(argument);
     }
-    var messageMatcher = MESSAGE_PATTERN.matcher(message);
-    var parsedMessage =  messageMatcher.find() ? messageMatcher.group(1).strip() : null;
+    return top;
+  }
+
+  private static String[] arguments(String text) {
+    if (text == null || text.isBlank()) {
+      return new String[0];
+    }
+    return text.strip().split("\\s+");
+  }
+
+  private static int parseTop(String argument) {
+    var top = Integer.parseInt(argument.substring(TOP.length()));
+    if (top <= 0) {
+      throw new IllegalArgumentException("top must be positive, was " + top);
+    }
+    return top;
+  }
+
+  private static void addEscape(String message, char kind, int start, int end, Set<String> users,
+      Set<String> usergroups, Set<String> channels) {
+    var idEnd = idEnd(message, start, end);
+    if (idEnd == start) {
+      return;
+    }
+    if (kind == '@') {
+      users.add(message.substring(start, idEnd));
+    } else if (kind == '#') {
+      channels.add(message.substring(start, idEnd));
+    } else if (message.startsWith(SUBTEAM, start) && idEnd > start + SUBTEAM.length()) {
+      usergroups.add(message.substring(start + SUBTEAM.length(), idEnd));
+    }
+  }
+
+  private static int idEnd(String message, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (message.charAt(i) == '|') {
+        return i;
+      }
+    }
+    return end;
+  }
+
+  private static boolean isNameChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '|';
+  }
 
-    return new SlackMessage(users, parsedMessage);
+  private static boolean isSeparator(char c) {
+    return Character.isWhitespace(c) || c == ',' || c == ':';
   }
 }
@@ -0,0 +1,108 @@
+package dc.vilnius.slack.domain;
+
+import com.google.gson.Gson;
+import com.slack.api.model.block.DividerBlock;
+import com.slack.api.model.block.LayoutBlock;
+import com.slack.api.model.block.SectionBlock;
+import com.slack.api.model.block.composition.MarkdownTextObject;
+import com.slack.api.model.block.composition.PlainTextObject;
+import com.slack.api.util.json.GsonFactory;
+import dc.vilnius.kudos.dto.HeroVotesDto;
+import dc.vilnius.kudos.dto.LeaderboardDto;
+import java.util.ArrayList;
+import java.util.List;
+
+class LeaderboardBlocks {
+
+  static final int MAX_BLOCKS_PER_MESSAGE = 50;
+  static final int MAX_MESSAGE_SIZE = 40_000;
+  static final int MAX_TEXT_LENGTH = 3000;
+
+  private static final Gson GSON = GsonFactory.createSnakeCase();
+
+  private LeaderboardBlocks() {}
+
+  static List<List<LayoutBlock>> render(List<LayoutBlock> header, LeaderboardDto leaderboard,
+      List<LayoutBlock> footer) {
+    var pages = new Pages();
+    header.forEach(pages::add);
+    pages.add(DividerBlock.builder().build());
+    addCurrentMonthLeaderboard(pages, leaderboard.heroes());
+    pages.add(DividerBlock.builder().build());
+    addCurrentMonthMessages(pages, leaderboard);
+    footer.forEach(pages::add);
+    return pages.pages;
+  }
+
+  static String userTag(String userId) {
+    return "*<@" + userId + ">*";
+  }
+
+  private static void addCurrentMonthMessages(Pages pages, LeaderboardDto leaderboard) {
+    pages.add(plainTextSection("Votes:"));
+    for (HeroVotesDto heroVotes : leaderboard.heroes()) {
+      var hero = heroVotes.username();
+      var text = new StringBuilder(userTag(hero)).append("\n ");
+      var first = true;
+      for (String message : leaderboard.messagesByHero().getOrDefault(hero, List.of())) {
+        var line = first ? message : "\n" + message;
+        if (text.length() + line.length() > MAX_TEXT_LENGTH) {
+          pages.add(markdownSection(text.toString()));
+          text.setLength(0);
+          line = message;
+        }
+        text.append(truncate(line));
+        first = false;
+      }
+      pages.add(markdownSection(text.toString()));
+      pages.add(DividerBlock.builder().build());
+    }
+  }
+
+  private static void addCurrentMonthLeaderboard(Pages pages, List<HeroVotesDto> leaderboard) {
+    pages.add(plainTextSection("Leaderboard table:"));
+    var text = new StringBuilder("*Hero* — *Vote count*");
+    for (HeroVotesDto heroVotes : leaderboard) {
+      var line = "\n<@" + heroVotes.username() + "> — " + heroVotes.voteCount();
+      if (text.length() + line.length() > MAX_TEXT_LENGTH) {
+        pages.add(markdownSection(text.toString()));
+        text.setLength(0);
+      }
+      text.append(line);
+    }
+    pages.add(markdownSection(text.toString()));
+  }
+
+  private static SectionBlock plainTextSection(String text) {
+    return SectionBlock.builder().text(PlainTextObject.builder().text(text).build()).build();
+  }
+
+  private static SectionBlock markdownSection(String text) {
+    return SectionBlock.builder().text(MarkdownTextObject.builder().text(text).build()).build();
+  }
+
+  private static String truncate(String text) {
+    return text.length() <= MAX_TEXT_LENGTH ? text : text.substring(0, MAX_TEXT_LENGTH - 1) + "…";
+  }
+
+  private static class Pages {
+
+    private final List<List<LayoutBlock>> pages = new ArrayList<>();
+    private List<LayoutBlock> current = new ArrayList<>();
+    private int currentSize;
+
+    void add(LayoutBlock block) {
+      var size = GSON.toJson(block).length();
+      if (!current.isEmpty() && (current.size() >= MAX_BLOCKS_PER_MESSAGE
+          || currentSize + size > MAX_MESSAGE_SIZE)) {
+        current = new ArrayList<>();
+        currentSize = 0;
+      }
+      if (current.isEmpty()) {
+        pages.add(current);
+      }
+      current.add(block);
+      currentSize += size;
+    }
+  }
+}
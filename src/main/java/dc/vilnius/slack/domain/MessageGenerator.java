@@ -1,12 +1,13 @@
 package dc.vilnius.slack.domain;
 
-import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class MessageGenerator {
 
-    private static final List<String> SUCCESS_MESSAGES = Arrays.asList(
+    private static final String SEPARATOR = ";";
+
+    private static final List<String> SUCCESS_MESSAGES = List.of(
             "Thanks for voting 🥰 <@%s> will be really happy 🥳🥳",
             "Oh Yeah! 🥳 <@%s> is Rockstar this month 🤩",
             "<@%s> will be really happy 🥰",
@@ -15,10 +16,37 @@ public class MessageGenerator {
             "<@%s> will be really happy 🤘"
     );
 
+    private static final String[] PREFIXES = new String[SUCCESS_MESSAGES.size()];
+    private static final String[] SUFFIXES = new String[SUCCESS_MESSAGES.size()];
+
+    static {
+        for (int i = 0; i < SUCCESS_MESSAGES.size(); i++) {
+            var template = SUCCESS_MESSAGES.get(i);
+            var placeholder = template.indexOf("%s");
+            PREFIXES[i] = template.substring(0, placeholder);
+            SUFFIXES[i] = template.substring(placeholder + 2);
+        }
+    }
+
+    private MessageGenerator() {}
+
     public static String randomSuccessMessage(String username) {
-        var random = new Random();
-        var messageIndex = random.ints(0, SUCCESS_MESSAGES.size() - 1).findFirst().orElseThrow();
-        var messageTemplate = SUCCESS_MESSAGES.get(messageIndex);
-        return String.format(messageTemplate, username);
+        return appendRandomSuccessMessage(new StringBuilder(64), username).toString();
+    }
+
+    public static String randomSuccessMessages(List<String> usernames) {
+        var messages = new StringBuilder(64 * usernames.size());
+        for (int i = 0; i < usernames.size(); i++) {
+            if (i > 0) {
+                messages.append(SEPARATOR);
+            }
+            appendRandomSuccessMessage(messages, usernames.get(i));
+        }
+        return messages.toString();
+    }
+
+    private static StringBuilder appendRandomSuccessMessage(StringBuilder target, String username) {
+        var messageIndex = ThreadLocalRandom.current().nextInt(PREFIXES.length);
+        return target.append(PREFIXES[messageIndex]).append(username).append(SUFFIXES[messageIndex]);
     }
 }
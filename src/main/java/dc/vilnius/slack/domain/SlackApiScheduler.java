@@ -0,0 +1,167 @@
+package dc.vilnius.slack.domain;
+
+import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.SlackApiResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+class SlackApiScheduler {
+
+  private static final String RATE_LIMITED = "ratelimited";
+  private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+  private final Logger logger = LoggerFactory.getLogger(SlackApiScheduler.class);
+
+  private final MeterRegistry meterRegistry;
+  private final int maxAttempts;
+  private final Duration backoff;
+  private final Map<SlackApiTier, TokenBucket> buckets = new EnumMap<>(SlackApiTier.class);
+
+  SlackApiScheduler(MeterRegistry meterRegistry,
+      @Value("${hero.slack.api.max-attempts:3}") int maxAttempts,
+      @Value("${hero.slack.api.backoff:500ms}") Duration backoff) {
+    this.meterRegistry = meterRegistry;
+    this.maxAttempts = maxAttempts;
+    this.backoff = backoff;
+    for (SlackApiTier tier : SlackApiTier.values()) {
+      var bucket = new TokenBucket(tier.requestsPerMinute());
+      buckets.put(tier, bucket);
+      meterRegistry.gauge("slack.api.queue.depth", Tags.of("tier", tier.name()), bucket.waiting);
+    }
+  }
+
+  <T extends SlackApiResponse> T call(String method, SlackApiTier tier, SlackApiCall<T> call)
+      throws IOException, SlackApiException {
+    var bucket = buckets.get(tier);
+    var sample = Timer.start(meterRegistry);
+    var outcome = "failure";
+    try {
+      for (int attempt = 1; ; attempt++) {
+        bucket.acquire();
+        try {
+          var response = call.call();
+          if (response.isOk() || !RATE_LIMITED.equals(response.getError())
+              || attempt >= maxAttempts) {
+            outcome = response.isOk() ? "success" : "failure";
+            return response;
+          }
+          throttled(method, bucket, DEFAULT_RETRY_AFTER);
+        } catch (SlackApiException e) {
+          if (attempt >= maxAttempts) {
+            throw e;
+          }
+          if (e.getResponse().code() == 429) {
+            throttled(method, bucket, retryAfter(e));
+          } else {
+            sleep(backoff.multipliedBy(1L << (attempt - 1)));
+          }
+        } catch (IOException e) {
+          if (attempt >= maxAttempts) {
+            throw e;
+          }
+          sleep(backoff.multipliedBy(1L << (attempt - 1)));
+        }
+      }
+    } finally {
+      sample.stop(meterRegistry.timer("slack.api.calls", "method", method, "outcome", outcome));
+    }
+  }
+
+  private void throttled(String method, TokenBucket bucket, Duration retryAfter)
+      throws InterruptedIOException {
+    logger.warn("Slack rate limited {}, retrying after {}", method, retryAfter);
+    meterRegistry.counter("slack.api.throttled", "method", method).increment();
+    bucket.pauseFor(retryAfter);
+    sleep(Duration.ZERO);
+  }
+
+  private Duration retryAfter(SlackApiException e) {
+    var header = e.getResponse().header("Retry-After");
+    if (header == null) {
+      return DEFAULT_RETRY_AFTER;
+    }
+    try {
+      return Duration.ofSeconds(Long.parseLong(header.trim()));
+    } catch (NumberFormatException ex) {
+      return DEFAULT_RETRY_AFTER;
+    }
+  }
+
+  private void sleep(Duration delay) throws InterruptedIOException {
+    var jitter = ThreadLocalRandom.current().nextLong(backoff.toMillis() + 1);
+    try {
+      TimeUnit.MILLISECONDS.sleep(delay.toMillis() + jitter);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting to retry a Slack API call");
+    }
+  }
+
+  @FunctionalInterface
+  interface SlackApiCall<T> {
+
+    T call() throws IOException, SlackApiException;
+  }
+
+  static class TokenBucket {
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private long pausedUntil = refilledAt;
+
+    TokenBucket(int requestsPerMinute) {
+      this.capacity = requestsPerMinute;
+      this.tokensPerNano = requestsPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+      this.tokens = requestsPerMinute;
+    }
+
+    void acquire() throws InterruptedIOException {
+      waiting.incrementAndGet();
+      try {
+        while (true) {
+          long waitNanos;
+          synchronized (this) {
+            var now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (now - pausedUntil >= 0 && tokens >= 1) {
+              tokens -= 1;
+              return;
+            }
+            waitNanos = Math.max(pausedUntil - now, (long) ((1 - tokens) / tokensPerNano));
+          }
+          TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for a Slack API rate limit");
+      } finally {
+        waiting.decrementAndGet();
+      }
+    }
+
+    synchronized void pauseFor(Duration duration) {
+      var until = System.nanoTime() + duration.toNanos();
+      if (until - pausedUntil > 0) {
+        pausedUntil = until;
+      }
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package dc.vilnius.slack.domain;
+
+enum SlackApiTier {
+  TIER_2(20),
+  TIER_3(50),
+  TIER_4(100),
+  CHAT_POST_MESSAGE(60),
+  USERS_LIST(20);
+
+  private final int requestsPerMinute;
+
+  SlackApiTier(int requestsPerMinute) {
+    this.requestsPerMinute = requestsPerMinute;
+  }
+
+  int requestsPerMinute() {
+    return requestsPerMinute;
+  }
+}
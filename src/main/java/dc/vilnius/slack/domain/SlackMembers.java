@@ -0,0 +1,176 @@
+package dc.vilnius.slack.domain;
+
+import static java.util.stream.Collectors.toList;
+
+import com.slack.api.bolt.AppConfig;
+import com.slack.api.methods.MethodsClient;
+import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.request.conversations.ConversationsMembersRequest;
+import com.slack.api.methods.request.usergroups.users.UsergroupsUsersListRequest;
+import com.slack.api.methods.request.users.UsersListRequest;
+import com.slack.api.model.User;
+import io.micronaut.cache.SyncCache;
+import io.micronaut.core.type.Argument;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+public class SlackMembers {
+
+  private static final Argument<List<String>> MEMBERS = Argument.listOf(String.class);
+  private static final int CHANNEL_MEMBERS_PAGE_SIZE = 1000;
+  private static final int USERS_PAGE_SIZE = 200;
+  private static final String SLACKBOT = "USLACKBOT";
+
+  private final Logger logger = LoggerFactory.getLogger(SlackMembers.class);
+
+  private final SyncCache<?> cache;
+  private final AppConfig appConfig;
+  private final MethodsClient methodsClient;
+  private final SlackApiScheduler slackApiScheduler;
+  private volatile Set<String> bots = Set.of(SLACKBOT);
+
+  @Inject
+  SlackMembers(@Named("slack-members") SyncCache<?> cache, AppConfig appConfig,
+      MethodsClient methodsClient, SlackApiScheduler slackApiScheduler) {
+    this.cache = cache;
+    this.appConfig = appConfig;
+    this.methodsClient = methodsClient;
+    this.slackApiScheduler = slackApiScheduler;
+  }
+
+  public List<String> usergroupMembers(String usergroupId) {
+    return members(new MembersKey(MembersKind.USERGROUP, usergroupId),
+        () -> loadUsergroupMembers(usergroupId));
+  }
+
+  public List<String> channelMembers(String channelId) {
+    return members(new MembersKey(MembersKind.CHANNEL, channelId),
+        () -> loadChannelMembers(channelId));
+  }
+
+  @Scheduled(fixedDelay = "${hero.kudos.mentions.bots-refresh:1h}")
+  public void refreshBots() {
+    loadBots().ifPresent(loaded -> {
+      var refreshed = new HashSet<>(loaded);
+      refreshed.add(SLACKBOT);
+      bots = Set.copyOf(refreshed);
+      logger.info("Loaded {} bot users", loaded.size());
+    });
+  }
+
+  private List<String> members(MembersKey key, Supplier<Optional<List<String>>> loader) {
+    List<String> members;
+    try {
+      members = cache.get(key, MEMBERS,
+          () -> loader.get().orElseThrow(MembersUnavailableException::new));
+    } catch (MembersUnavailableException e) {
+      return List.of();
+    }
+    var knownBots = bots;
+    return members.stream().filter(member -> !knownBots.contains(member)).collect(toList());
+  }
+
+  private Optional<List<String>> loadUsergroupMembers(String usergroupId) {
+    var request = UsergroupsUsersListRequest.builder()
+        .token(appConfig.getSingleTeamBotToken())
+        .usergroup(usergroupId)
+        .build();
+    try {
+      var response = slackApiScheduler.call("usergroups.users.list", SlackApiTier.TIER_2,
+          () -> methodsClient.usergroupsUsersList(request));
+      if (!response.isOk()) {
+        logger.error("Failed to list members of usergroup {}, reason: {}", usergroupId,
+            response.getError());
+        return Optional.empty();
+      }
+      return Optional.of(List.copyOf(response.getUsers()));
+    } catch (IOException | SlackApiException e) {
+      logger.error("Failed to list members of usergroup {}", usergroupId, e);
+      return Optional.empty();
+    }
+  }
+
+  private Optional<List<String>> loadChannelMembers(String channelId) {
+    var members = new ArrayList<String>();
+    String cursor = null;
+    try {
+      do {
+        var request = ConversationsMembersRequest.builder()
+            .token(appConfig.getSingleTeamBotToken())
+            .channel(channelId)
+            .limit(CHANNEL_MEMBERS_PAGE_SIZE)
+            .cursor(cursor)
+            .build();
+        var response = slackApiScheduler.call("conversations.members", SlackApiTier.TIER_4,
+            () -> methodsClient.conversationsMembers(request));
+        if (!response.isOk()) {
+          logger.error("Failed to list members of channel {}, reason: {}", channelId,
+              response.getError());
+          return Optional.empty();
+        }
+        members.addAll(response.getMembers());
+        cursor = response.getResponseMetadata() == null ? null
+            : response.getResponseMetadata().getNextCursor();
+      } while (cursor != null && !cursor.isEmpty());
+    } catch (IOException | SlackApiException e) {
+      logger.error("Failed to list members of channel {}", channelId, e);
+      return Optional.empty();
+    }
+    return Optional.of(List.copyOf(members));
+  }
+
+  private Optional<List<String>> loadBots() {
+    var bots = new ArrayList<String>();
+    String cursor = null;
+    try {
+      do {
+        var request = UsersListRequest.builder()
+            .token(appConfig.getSingleTeamBotToken())
+            .limit(USERS_PAGE_SIZE)
+            .cursor(cursor)
+            .build();
+        var response = slackApiScheduler.call("users.list", SlackApiTier.USERS_LIST,
+            () -> methodsClient.usersList(request));
+        if (!response.isOk()) {
+          logger.error("Failed to list workspace users, reason: {}", response.getError());
+          return Optional.empty();
+        }
+        response.getMembers().stream().filter(User::isBot).map(User::getId).forEach(bots::add);
+        cursor = response.getResponseMetadata() == null ? null
+            : response.getResponseMetadata().getNextCursor();
+      } while (cursor != null && !cursor.isEmpty());
+    } catch (IOException | SlackApiException e) {
+      logger.error("Failed to list workspace users", e);
+      return Optional.empty();
+    }
+    return Optional.of(List.copyOf(bots));
+  }
+
+  private enum MembersKind {
+    USERGROUP,
+    CHANNEL
+  }
+
+  private record MembersKey(MembersKind kind, String id) {
+
+  }
+
+  private static class MembersUnavailableException extends RuntimeException {
+
+    MembersUnavailableException() {
+      super(null, null, false, false);
+    }
+  }
+}
@@ -1,76 +1,104 @@
 package dc.vilnius.slack.domain;
 
-import com.slack.api.bolt.App;
 import com.slack.api.bolt.AppConfig;
+import com.slack.api.methods.MethodsClient;
 import com.slack.api.methods.SlackApiException;
+import com.slack.api.methods.request.chat.ChatDeleteScheduledMessageRequest;
 import com.slack.api.methods.request.chat.ChatPostMessageRequest;
 import com.slack.api.methods.request.chat.ChatScheduleMessageRequest;
-import com.slack.api.model.block.DividerBlock;
+import com.slack.api.methods.response.chat.ChatScheduleMessageResponse;
 import com.slack.api.model.block.HeaderBlock;
 import com.slack.api.model.block.LayoutBlock;
 import com.slack.api.model.block.SectionBlock;
 import com.slack.api.model.block.composition.MarkdownTextObject;
 import com.slack.api.model.block.composition.PlainTextObject;
-import com.slack.api.model.block.composition.TextObject;
 import dc.vilnius.kudos.domain.KudosFacade;
-import dc.vilnius.kudos.dto.GiveKudos;
-import dc.vilnius.kudos.dto.KudosDto;
-import dc.vilnius.slack.dto.SlackMessage;
+import dc.vilnius.kudos.dto.HeroRankDto;
+import dc.vilnius.kudos.dto.KudosDigestClaim;
+import dc.vilnius.kudos.dto.KudosDigestDto;
+import dc.vilnius.kudos.dto.KudosNotificationDto;
+import dc.vilnius.kudos.dto.LeaderboardDto;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.TextStyle;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 
+import static dc.vilnius.slack.SlackFactory.SLACK_API;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
 
+@Singleton
 public class SlackMessageFacade {
 
-  private static final int MAX_FIELDS_COUNT = 10;
   private final Logger logger = LoggerFactory.getLogger(SlackMessageFacade.class);
 
   private final KudosFacade kudosFacade;
   private final AppConfig appConfig;
-  private final App slackApp;
+  private final MethodsClient methodsClient;
+  private final ExecutorService slackApiExecutor;
+  private final SlackApiScheduler slackApiScheduler;
+  private final boolean digest;
 
-  public SlackMessageFacade(KudosFacade kudosFacade, AppConfig appConfig) {
+  @Inject
+  SlackMessageFacade(KudosFacade kudosFacade, AppConfig appConfig,
+      MethodsClient methodsClient, @Named(SLACK_API) ExecutorService slackApiExecutor,
+      SlackApiScheduler slackApiScheduler,
+      @Value("${hero.kudos.notifications.digest:false}") boolean digest) {
     this.kudosFacade = kudosFacade;
     this.appConfig = appConfig;
-    this.slackApp = new App(appConfig);
+    this.methodsClient = methodsClient;
+    this.slackApiExecutor = slackApiExecutor;
+    this.slackApiScheduler = slackApiScheduler;
+    this.digest = digest;
   }
 
-  private void scheduleMessageAtTheEndOfTheMonth(String user, String message) {
-    var currentDate = LocalDate.now();
-    var lastFriday = currentDate.with(TemporalAdjusters.lastInMonth(DayOfWeek.FRIDAY));
+  private Optional<ChatScheduleMessageResponse> scheduleMessageAtTheEndOfTheMonth(String user,
+      String text, LocalDate createdDate) {
+    var lastFriday = createdDate.with(TemporalAdjusters.lastInMonth(DayOfWeek.FRIDAY));
     var messageDeliveryDay =
-        currentDate.isEqual(lastFriday) || currentDate.isAfter(lastFriday) ? currentDate.plusDays(1)
+        createdDate.isEqual(lastFriday) || createdDate.isAfter(lastFriday) ? createdDate.plusDays(1)
             : lastFriday;
     var deliveryDayAtTen = messageDeliveryDay.atTime(10, 0);
+    var earliestDelivery = LocalDateTime.now(ZoneOffset.UTC).plusMinutes(1);
+    if (deliveryDayAtTen.isBefore(earliestDelivery)) {
+      deliveryDayAtTen = earliestDelivery;
+    }
 
     int postAt = (int) deliveryDayAtTen.toEpochSecond(ZoneOffset.UTC);
     try {
       var scheduledMessage = ChatScheduleMessageRequest.builder()
           .channel(user)
-          .text(message)
+          .text(text)
           .postAt(postAt)
           .token(appConfig.getSingleTeamBotToken())
           .build();
-      var response = slackApp.client().chatScheduleMessage(scheduledMessage);
+      var response = slackApiScheduler.call("chat.scheduleMessage", SlackApiTier.TIER_3,
+          () -> methodsClient.chatScheduleMessage(scheduledMessage));
       if (response.isOk()) {
         logger.info("Scheduled a private message {} for user {}", response.getScheduledMessageId(),
             user);
+        return Optional.of(response);
       } else {
         logger.error("Failed to schedule a message for user {}, reason: {}", user,
             response.getError());
@@ -78,128 +106,212 @@ public class SlackMessageFacade {
     } catch (IOException | SlackApiException e) {
       logger.error("Failed to schedule message for user: {}", user, e);
     }
+    return Optional.empty();
+  }
+
+  private Optional<String> scheduleNotification(KudosNotificationDto notification) {
+    return scheduleMessageAtTheEndOfTheMonth(notification.recipient(), notification.message(),
+        notification.created().toLocalDate())
+        .map(ChatScheduleMessageResponse::getScheduledMessageId);
+  }
+
+  private Optional<String> scheduleDigest(String recipient, LocalDate month,
+      List<KudosNotificationDto> notifications) {
+    var claim = kudosFacade.claimDigest(recipient, month);
+    if (claim.isEmpty()) {
+      logger.info("The digest for user {} is being replaced elsewhere, retrying later", recipient);
+      return Optional.empty();
+    }
+    var previous = Optional.ofNullable(claim.get().previous()).filter(this::isStillScheduled);
+    var current = scheduleClaimedDigest(claim.get(), previous, notifications);
+    if (current.isEmpty()) {
+      return Optional.empty();
+    }
+    if (!kudosFacade.completeDigest(claim.get(), current.get())) {
+      logger.warn("Lost the claim on the digest for user {}, removing the digest just scheduled",
+          recipient);
+      removeScheduledMessage(current.get());
+      return Optional.empty();
+    }
+    previous.filter(digest -> digest.scheduledMessageId() != null)
+        .ifPresent(this::removeScheduledMessage);
+    return current.map(KudosDigestDto::scheduledMessageId);
+  }
+
+  private Optional<KudosDigestDto> scheduleClaimedDigest(KudosDigestClaim claim,
+      Optional<KudosDigestDto> previous, List<KudosNotificationDto> notifications) {
+    try {
+      var digest = scheduleMergedDigest(claim.recipient(), claim.yearMonth(), previous,
+          notifications);
+      if (digest.isEmpty()) {
+        kudosFacade.releaseDigest(claim);
+      }
+      return digest;
+    } catch (RuntimeException e) {
+      kudosFacade.releaseDigest(claim);
+      throw e;
+    }
+  }
+
+  private Optional<KudosDigestDto> scheduleMergedDigest(String recipient, LocalDate month,
+      Optional<KudosDigestDto> previous, List<KudosNotificationDto> notifications) {
+    var kudosCount = previous.map(KudosDigestDto::kudosCount).orElse(0) + notifications.size();
+    var newMessages = notifications.stream().map(notification -> "• " + notification.message())
+        .collect(joining("\n"));
+    var body = previous.map(digest -> digest.body() + "\n" + newMessages).orElse(newMessages);
+    var text = "You received " + kudosCount + " kudos this month \uD83C\uDF89\n" + body;
+
+    var lastCreated = notifications.get(notifications.size() - 1).created().toLocalDate();
+    return scheduleMessageAtTheEndOfTheMonth(recipient, text, lastCreated)
+        .map(response -> new KudosDigestDto(recipient, month, response.getChannel(),
+            response.getScheduledMessageId(),
+            LocalDateTime.ofEpochSecond(response.getPostAt(), 0, ZoneOffset.UTC), kudosCount,
+            body));
+  }
+
+  private boolean isStillScheduled(KudosDigestDto digest) {
+    return digest.postAt() == null || digest.postAt().isAfter(LocalDateTime.now(ZoneOffset.UTC));
   }
 
-  private void buildAndPostHeroesLeaderboard(String channelId, String requestedBy, List<LayoutBlock> blocks, Map<String, List<KudosDto>> sortedHeroesByMessageSize) {
-    blocks.addAll(buildBlocks(sortedHeroesByMessageSize));
-    blocks.addAll(requestedByMessage(requestedBy));
-    ChatPostMessageRequest message = ChatPostMessageRequest.builder()
-        .channel(channelId)
+  private void removeScheduledMessage(KudosDigestDto digest) {
+    var request = ChatDeleteScheduledMessageRequest.builder()
+        .channel(digest.channel())
+        .scheduledMessageId(digest.scheduledMessageId())
         .token(appConfig.getSingleTeamBotToken())
-        .blocks(blocks)
         .build();
     try {
-      var response = slackApp.client().chatPostMessage(message);
-      if (response.isOk()) {
-        logger.info("Posted successfully heroes of the month in the channel {}", channelId);
-      } else {
-        logger.error("Failed to post a message in the channel {}, reason: {}", channelId,
-            response.getError());
+      var response = slackApiScheduler.call("chat.deleteScheduledMessage", SlackApiTier.TIER_3,
+          () -> methodsClient.chatDeleteScheduledMessage(request));
+      if (!response.isOk()) {
+        logger.error("Failed to remove the replaced digest {} for user {}, reason: {}",
+            digest.scheduledMessageId(), digest.recipient(), response.getError());
       }
     } catch (IOException | SlackApiException e) {
-      logger.error("Failed to post hero of the month", e);
+      logger.error("Failed to remove the replaced digest {} for user {}",
+          digest.scheduledMessageId(), digest.recipient(), e);
     }
   }
 
-  public void handleHeroVote(GiveKudos giveKudos) {
-    kudosFacade.submit(giveKudos);
+  private void buildAndPostHeroesLeaderboard(String channelId, String requestedBy, String period,
+      Optional<HeroRankDto> rank, List<LayoutBlock> blocks, LeaderboardDto leaderboard) {
+    var pages = LeaderboardBlocks.render(blocks, leaderboard,
+        requestedByMessage(requestedBy, period, rank));
+    String threadTs = null;
+    for (List<LayoutBlock> page : pages) {
+      ChatPostMessageRequest message = ChatPostMessageRequest.builder()
+          .channel(channelId)
+          .token(appConfig.getSingleTeamBotToken())
+          .threadTs(threadTs)
+          .blocks(page)
+          .build();
+      try {
+        var response = slackApiScheduler.call("chat.postMessage",
+            SlackApiTier.CHAT_POST_MESSAGE, () -> methodsClient.chatPostMessage(message));
+        if (!response.isOk()) {
+          logger.error("Failed to post a message in the channel {}, reason: {}", channelId,
+              response.getError());
+          return;
+        }
+        if (threadTs == null) {
+          threadTs = response.getTs();
+        }
+      } catch (IOException | SlackApiException e) {
+        logger.error("Failed to post heroes of the {}", period, e);
+        return;
+      }
+    }
+    logger.info("Posted successfully heroes of the {} in the channel {} in {} messages", period,
+        channelId, pages.size());
+  }
+
+  public void dispatchScheduledMessages(int batchSize) {
+    List<KudosNotificationDto> notifications;
+    do {
+      notifications = kudosFacade.claimPendingNotifications(batchSize);
+      var scheduledMessages = new ArrayList<ScheduledMessage>();
+      if (digest) {
+        var digests = notifications.stream().collect(groupingBy(
+            notification -> new DigestKey(notification.recipient(),
+                notification.created().toLocalDate().with(TemporalAdjusters.firstDayOfMonth())),
+            LinkedHashMap::new, toList()));
+        digests.forEach((key, group) -> scheduledMessages.add(new ScheduledMessage(group,
+            CompletableFuture.supplyAsync(
+                () -> scheduleDigest(key.recipient(), key.month(), group), slackApiExecutor)
+                .exceptionally(e -> scheduleFailed(key.recipient(), e)))));
+      } else {
+        for (KudosNotificationDto notification : notifications) {
+          scheduledMessages.add(new ScheduledMessage(List.of(notification),
+              CompletableFuture.supplyAsync(() -> scheduleNotification(notification),
+                  slackApiExecutor)
+                  .exceptionally(e -> scheduleFailed(notification.recipient(), e))));
+        }
+      }
+      var delivered = new HashMap<UUID, String>();
+      var failed = new HashSet<UUID>();
+      scheduledMessages.forEach(scheduledMessage -> {
+        var scheduledMessageId = scheduledMessage.scheduledMessageId().join();
+        for (KudosNotificationDto notification : scheduledMessage.notifications()) {
+          scheduledMessageId.ifPresentOrElse(id -> delivered.put(notification.id(), id),
+              () -> failed.add(notification.id()));
+        }
+      });
+      kudosFacade.completeNotifications(delivered, failed);
+      if (!failed.isEmpty()) {
+        logger.warn("Failed to schedule {} of {} private messages", failed.size(),
+            notifications.size());
+      }
+    } while (notifications.size() == batchSize);
+  }
 
-    giveKudos.usernames()
-        .forEach(user -> scheduleMessageAtTheEndOfTheMonth(user, giveKudos.message()));
+  private Optional<String> scheduleFailed(String recipient, Throwable e) {
+    logger.error("Failed to schedule a private message for user {}", recipient, e);
+    return Optional.empty();
   }
 
-  public void handleHeroOfTheMonth(String channelId, String requestedBy, LocalDate date) {
-    var heroes = kudosFacade.findAllGivenMonthKudosBy(channelId, date);
-    var sortedHeroesByMessageSize = sortByHeroes(heroes);
+  public void handleHeroOfTheMonth(String channelId, String requestedBy, LocalDate date,
+      int top) {
+    var leaderboard = kudosFacade.findGivenMonthLeaderboard(channelId, date, top);
+    var rank = kudosFacade.findGivenMonthRank(channelId, date, requestedBy);
     var blocks = new ArrayList<LayoutBlock>();
     blocks.add(HeaderBlock.builder().text(givenMonthHeroHeader(date)).build());
-    buildAndPostHeroesLeaderboard(channelId, requestedBy, blocks, sortedHeroesByMessageSize);
+    buildAndPostHeroesLeaderboard(channelId, requestedBy, "month", rank, blocks, leaderboard);
   }
 
-  public void handleHeroOfTheYear(String channelId, String requestedBy) {
+  public void handleHeroOfTheYear(String channelId, String requestedBy, int top) {
     var date = LocalDate.now();
-    var heroes = kudosFacade.findAllGivenYearKudosBy(channelId, date);
-    var sortedHeroesByMessageSize = sortByHeroes(heroes);
+    var leaderboard = kudosFacade.findGivenYearLeaderboard(channelId, date, top);
+    var rank = kudosFacade.findGivenYearRank(channelId, date, requestedBy);
     var blocks = new ArrayList<LayoutBlock>();
     var currentYearHeroHeader = PlainTextObject.builder()
         .text(date.getYear() + " heroes of the year \uD83C\uDFC6 \uD83C\uDFC6 \uD83C\uDFC6")
         .emoji(true)
         .build();
     blocks.add(HeaderBlock.builder().text(currentYearHeroHeader).build());
-    buildAndPostHeroesLeaderboard(channelId, requestedBy, blocks, sortedHeroesByMessageSize);
-  }
-
-  private Map<String, List<KudosDto>> sortByHeroes(List<KudosDto> kudos) {
-    var mapByHeroes = kudos.stream()
-        .collect(groupingBy(KudosDto::username, toList()));
-
-    return mapByHeroes.entrySet()
-        .stream()
-        .sorted((e1, e2) -> Integer.compare(e2.getValue().size(), e1.getValue().size()))
-        .collect(toMap(
-            Map.Entry::getKey,
-            Map.Entry::getValue,
-            (e1, e2) -> e1,
-            LinkedHashMap::new
-        ));
-  }
-
-  private String getUserTag(String userId) {
-    return "*<@" + userId + ">*";
+    buildAndPostHeroesLeaderboard(channelId, requestedBy, "year", rank, blocks, leaderboard);
   }
 
-  private List<LayoutBlock> requestedByMessage(String userId) {
+  private List<LayoutBlock> requestedByMessage(String userId, String period,
+      Optional<HeroRankDto> rank) {
     var blocks = new ArrayList<LayoutBlock>();
-    var message = "Heroes of the month leaderboard requested by " + getUserTag(userId);
+    var rankMessage = rank
+        .map(heroRank -> "Your rank: #" + heroRank.rank() + " with " + heroRank.voteCount()
+            + " votes")
+        .orElse("No votes for you yet, keep going!");
+    var message = "Heroes of the " + period + " leaderboard requested by "
+        + LeaderboardBlocks.userTag(userId) + "\n" + rankMessage;
     var text = MarkdownTextObject.builder().text(message).build();
     var layout = SectionBlock.builder().text(text).build();
     blocks.add(layout);
     return blocks;
   }
 
-  private List<LayoutBlock> buildBlocks(Map<String, List<KudosDto>> groupedHeroes) {
-    var blocks = new ArrayList<LayoutBlock>();
-    blocks.add(DividerBlock.builder().build());
-    blocks.addAll(addCurrentMonthLeaderboard(groupedHeroes));
-    blocks.add(DividerBlock.builder().build());
-    blocks.addAll(addCurrentMonthMessages(groupedHeroes));
-    return blocks;
-  }
+  private record DigestKey(String recipient, LocalDate month) {
 
-  private List<LayoutBlock> addCurrentMonthMessages(Map<String, List<KudosDto>> groupedHeroes) {
-    var blocks = new ArrayList<LayoutBlock>();
-    blocks.add(
-        SectionBlock.builder().text(PlainTextObject.builder().text("Votes:").build()).build());
-    for (String hero : groupedHeroes.keySet()) {
-      var sectionValues = new ArrayList<TextObject>();
-      var messages = groupedHeroes.get(hero).stream().map(KudosDto::message).collect(joining("\n"));
-      var text = getUserTag(hero) + "\n " + messages;
-      sectionValues.add(MarkdownTextObject.builder().text(text).build());
-      blocks.add(SectionBlock.builder().fields(sectionValues).build());
-      blocks.add(DividerBlock.builder().build());
-    }
-    return blocks;
   }
 
-  private List<LayoutBlock> addCurrentMonthLeaderboard(Map<String, List<KudosDto>> groupedHeroes) {
-    var blocks = new ArrayList<LayoutBlock>();
-    blocks.add(
-        SectionBlock.builder().text(PlainTextObject.builder().text("Leaderboard table:").build())
-            .build());
-    var sectionValues = new ArrayList<TextObject>();
-    sectionValues.add(MarkdownTextObject.builder().text("*Hero*").build());
-    sectionValues.add(MarkdownTextObject.builder().text("*Vote count*").build());
-    for (String hero : groupedHeroes.keySet()) {
-      if (sectionValues.size() >= MAX_FIELDS_COUNT) {
-        blocks.add(SectionBlock.builder().fields(sectionValues).build());
-        sectionValues = new ArrayList<>();
-      }
-      sectionValues.add(MarkdownTextObject.builder().text("<@" + hero + ">").build());
-      sectionValues.add(
-          PlainTextObject.builder().text(String.valueOf(groupedHeroes.get(hero).size())).build());
-    }
-    blocks.add(SectionBlock.builder().fields(sectionValues).build());
-    return blocks;
+  private record ScheduledMessage(List<KudosNotificationDto> notifications,
+      CompletableFuture<Optional<String>> scheduledMessageId) {
+
   }
 
   private PlainTextObject givenMonthHeroHeader(LocalDate date) {
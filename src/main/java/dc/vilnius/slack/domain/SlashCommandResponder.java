@@ -0,0 +1,32 @@
+package dc.vilnius.slack.domain;
+
+import com.slack.api.Slack;
+import com.slack.api.webhook.Payload;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+public class SlashCommandResponder {
+
+  private final Logger logger = LoggerFactory.getLogger(SlashCommandResponder.class);
+
+  private final Slack slack;
+
+  SlashCommandResponder(Slack slack) {
+    this.slack = slack;
+  }
+
+  public void respond(String responseUrl, String text) {
+    try {
+      var response = slack.send(responseUrl, Payload.builder().text(text).build());
+      if (response.getCode() != 200) {
+        logger.error("Failed to respond to a slash command, status: {}, body: {}",
+            response.getCode(), response.getBody());
+      }
+    } catch (IOException e) {
+      logger.error("Failed to respond to a slash command", e);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package dc.vilnius.slack.dto;
+
+import java.time.LocalDate;
+
+public record LeaderboardCommand(
+    LocalDate date,
+    int top
+) {
+
+}
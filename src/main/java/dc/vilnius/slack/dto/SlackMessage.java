@@ -4,6 +4,8 @@ import java.util.List;
 
 public record SlackMessage(
     List<String> users,
+    List<String> usergroups,
+    List<String> channels,
     String message
 ) {
 
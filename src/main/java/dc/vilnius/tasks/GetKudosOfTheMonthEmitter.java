@@ -1,9 +1,13 @@
 package dc.vilnius.tasks;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
 import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,8 +19,24 @@ public class GetKudosOfTheMonthEmitter {
   @Inject
   ApplicationEventPublisher<HeroOfTheMonthEvent> eventPublisher;
 
-  public void publish(String channelId, String requestBy, LocalDate date) {
+  @Inject
+  @Named(KudosExecutorFactory.LEADERBOARDS)
+  ExecutorService executor;
+
+  @Inject
+  MeterRegistry meterRegistry;
+
+  public boolean publish(String channelId, String requestBy, LocalDate date, int top) {
     logger.info("Publishing message to {}, by {} at {}", channelId, requestBy, date);
-    eventPublisher.publishEventAsync(new HeroOfTheMonthEvent(channelId, requestBy, date));
+    var event = new HeroOfTheMonthEvent(channelId, requestBy, date, top);
+    try {
+      executor.execute(() -> eventPublisher.publishEvent(event));
+      return true;
+    } catch (RejectedExecutionException e) {
+      logger.warn("Leaderboard queue is full, rejected {}", event);
+      meterRegistry.counter("kudos.events.rejected", "executor", KudosExecutorFactory.LEADERBOARDS)
+          .increment();
+      return false;
+    }
   }
 }
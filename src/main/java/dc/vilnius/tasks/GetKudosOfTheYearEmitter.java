@@ -1,8 +1,12 @@
 package dc.vilnius.tasks;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,8 +18,24 @@ public class GetKudosOfTheYearEmitter {
   @Inject
   ApplicationEventPublisher<HeroOfTheYearEvent> eventPublisher;
 
-  public void publish(String channelId, String requestBy) {
+  @Inject
+  @Named(KudosExecutorFactory.LEADERBOARDS)
+  ExecutorService executor;
+
+  @Inject
+  MeterRegistry meterRegistry;
+
+  public boolean publish(String channelId, String requestBy, int top) {
     logger.info("Publishing message to {}, by {}", channelId, requestBy);
-    eventPublisher.publishEventAsync(new HeroOfTheYearEvent(channelId, requestBy));
+    var event = new HeroOfTheYearEvent(channelId, requestBy, top);
+    try {
+      executor.execute(() -> eventPublisher.publishEvent(event));
+      return true;
+    } catch (RejectedExecutionException e) {
+      logger.warn("Leaderboard queue is full, rejected {}", event);
+      meterRegistry.counter("kudos.events.rejected", "executor", KudosExecutorFactory.LEADERBOARDS)
+          .increment();
+      return false;
+    }
   }
 }
@@ -1,11 +1,17 @@
 package dc.vilnius.tasks;
 
-import com.slack.api.bolt.AppConfig;
-import dc.vilnius.kudos.domain.KudosFacade;
 import dc.vilnius.kudos.dto.GiveKudos;
-import dc.vilnius.slack.domain.SlackMessageFacade;
+import dc.vilnius.slack.domain.CommandParser;
+import dc.vilnius.slack.domain.MessageGenerator;
+import dc.vilnius.slack.domain.SlackMembers;
+import dc.vilnius.slack.domain.SlashCommandResponder;
+import dc.vilnius.slack.dto.SlackMessage;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.context.event.ApplicationEventListener;
 import jakarta.inject.Singleton;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,21 +19,81 @@ import org.slf4j.LoggerFactory;
 public class GivenKudosListener implements ApplicationEventListener<SubmitKudosEvent> {
   private final Logger logger = LoggerFactory.getLogger(GivenKudosListener.class);
 
-  private final SlackMessageFacade slackMessageFacade;
+  private static final String SELF_VOTE_MESSAGE = "Really? No cheating mate!";
+  private static final String NO_MESSAGE_MESSAGE =
+      "Tell your heroes what they did, e.g. /hero-vote @name thanks for the help";
+  private static final String NO_HEROES_MESSAGE =
+      "Couldn't find anyone to thank in your vote, mention a hero like @name";
+  private static final String TOO_MANY_HEROES_MESSAGE =
+      "That vote would thank %d people, mention at most %d heroes, e.g. a smaller @group";
+  private static final String TEAM_SUCCESS_MESSAGE =
+      "Thanks for voting 🥰 the whole team will be really happy 🥳🥳";
 
-  public GivenKudosListener(AppConfig appConfig, KudosFacade kudosFacade) {
-    this.slackMessageFacade = new SlackMessageFacade(kudosFacade, appConfig);
+  private final KudosWriteBehindBuffer kudosWriteBehindBuffer;
+  private final SlackMembers slackMembers;
+  private final SlashCommandResponder slashCommandResponder;
+  private final int maxMembers;
+
+  public GivenKudosListener(KudosWriteBehindBuffer kudosWriteBehindBuffer,
+      SlackMembers slackMembers, SlashCommandResponder slashCommandResponder,
+      @Value("${hero.kudos.mentions.max-members:100}") int maxMembers) {
+    this.kudosWriteBehindBuffer = kudosWriteBehindBuffer;
+    this.slackMembers = slackMembers;
+    this.slashCommandResponder = slashCommandResponder;
+    this.maxMembers = maxMembers;
   }
 
   @Override
   public void onApplicationEvent(SubmitKudosEvent event) {
-    logger.info("Consuming event: {}", event);
-    var kudos = new GiveKudos(event.channelId(), event.usernames(), event.message());
-    slackMessageFacade.handleHeroVote(kudos);
+    logger.info("Consuming vote in channel {} by {}", event.channelId(), event.requestedBy());
+    var parsedMessage = CommandParser.parse(event.text());
+    if (parsedMessage.users().contains(event.requestedBy())) {
+      slashCommandResponder.respond(event.responseUrl(), SELF_VOTE_MESSAGE);
+      return;
+    }
+    if (parsedMessage.message() == null || parsedMessage.message().isBlank()) {
+      slashCommandResponder.respond(event.responseUrl(), NO_MESSAGE_MESSAGE);
+      return;
+    }
+    var heroes = expandMentions(event.requestedBy(), parsedMessage);
+    if (heroes.isEmpty()) {
+      slashCommandResponder.respond(event.responseUrl(), NO_HEROES_MESSAGE);
+      return;
+    }
+    if (heroes.size() > maxMembers) {
+      slashCommandResponder.respond(event.responseUrl(),
+          String.format(TOO_MANY_HEROES_MESSAGE, heroes.size(), maxMembers));
+      return;
+    }
+    kudosWriteBehindBuffer.add(new GiveKudos(event.channelId(), heroes, parsedMessage.message(),
+        LocalDateTime.now()));
+    slashCommandResponder.respond(event.responseUrl(), successMessage(parsedMessage));
   }
 
   @Override
   public boolean supports(SubmitKudosEvent event) {
     return ApplicationEventListener.super.supports(event);
   }
+
+  private List<String> expandMentions(String requestedBy, SlackMessage parsedMessage) {
+    if (parsedMessage.usergroups().isEmpty() && parsedMessage.channels().isEmpty()) {
+      return parsedMessage.users();
+    }
+    var usernames = new LinkedHashSet<>(parsedMessage.users());
+    parsedMessage.usergroups()
+        .forEach(usergroup -> usernames.addAll(slackMembers.usergroupMembers(usergroup)));
+    parsedMessage.channels()
+        .forEach(channel -> usernames.addAll(slackMembers.channelMembers(channel)));
+    usernames.remove(requestedBy);
+    logger.info("Expanded {} usergroups and {} channels into {} heroes",
+        parsedMessage.usergroups().size(), parsedMessage.channels().size(), usernames.size());
+    return List.copyOf(usernames);
+  }
+
+  private String successMessage(SlackMessage parsedMessage) {
+    if (parsedMessage.users().isEmpty()) {
+      return TEAM_SUCCESS_MESSAGE;
+    }
+    return MessageGenerator.randomSuccessMessages(parsedMessage.users());
+  }
 }
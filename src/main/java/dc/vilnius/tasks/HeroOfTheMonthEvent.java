@@ -2,4 +2,5 @@ package dc.vilnius.tasks;
 
 import java.time.LocalDate;
 
-public record HeroOfTheMonthEvent(String channelId, String requestedBy, LocalDate date) {}
+public record HeroOfTheMonthEvent(String channelId, String requestedBy, LocalDate date,
+                                  int top) {}
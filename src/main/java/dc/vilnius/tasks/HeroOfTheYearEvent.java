@@ -1,3 +1,3 @@
 package dc.vilnius.tasks;
 
-public record HeroOfTheYearEvent(String channelId, String requestedBy) {}
+public record HeroOfTheYearEvent(String channelId, String requestedBy, int top) {}
@@ -0,0 +1,87 @@
+package dc.vilnius.tasks;
+
+import io.micronaut.context.annotation.Bean;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Replaces;
+import io.micronaut.context.annotation.Requires;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.context.exceptions.ConfigurationException;
+import io.micronaut.scheduling.NamedThreadFactory;
+import io.micronaut.scheduling.TaskExecutors;
+import jakarta.inject.Named;
+import jakarta.inject.Singleton;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Factory
+public class KudosExecutorFactory {
+
+  public static final String VOTES = "kudos-votes";
+  public static final String LEADERBOARDS = "kudos-leaderboards";
+  public static final String VIRTUAL_THREADS = "hero.virtual-threads.enabled";
+
+  @Singleton
+  @Bean(preDestroy = "shutdown")
+  @Named(VOTES)
+  @Requires(property = VIRTUAL_THREADS, notEquals = "true")
+  public ExecutorService createVotesExecutor(
+      @Value("${hero.executors.kudos-votes.threads:4}") int threads,
+      @Value("${hero.executors.kudos-votes.queue-capacity:1000}") int queueCapacity) {
+    return boundedExecutor(VOTES, threads, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Singleton
+  @Bean(preDestroy = "shutdown")
+  @Named(LEADERBOARDS)
+  @Requires(property = VIRTUAL_THREADS, notEquals = "true")
+  public ExecutorService createLeaderboardsExecutor(
+      @Value("${hero.executors.kudos-leaderboards.threads:2}") int threads,
+      @Value("${hero.executors.kudos-leaderboards.queue-capacity:50}") int queueCapacity) {
+    return boundedExecutor(LEADERBOARDS, threads, queueCapacity,
+        new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Singleton
+  @Bean(preDestroy = "shutdown")
+  @Named(VOTES)
+  @Requires(property = VIRTUAL_THREADS, value = "true")
+  public ExecutorService createVirtualVotesExecutor() {
+    return virtualThreadPerTaskExecutor();
+  }
+
+  @Singleton
+  @Bean(preDestroy = "shutdown")
+  @Named(LEADERBOARDS)
+  @Requires(property = VIRTUAL_THREADS, value = "true")
+  public ExecutorService createVirtualLeaderboardsExecutor() {
+    return virtualThreadPerTaskExecutor();
+  }
+
+  @Singleton
+  @Bean(preDestroy = "shutdown")
+  @Named(TaskExecutors.IO)
+  @Replaces(bean = ExecutorService.class, named = TaskExecutors.IO)
+  @Requires(property = VIRTUAL_THREADS, value = "true")
+  public ExecutorService createVirtualIoExecutor() {
+    return virtualThreadPerTaskExecutor();
+  }
+
+  ExecutorService boundedExecutor(String name, int threads, int queueCapacity,
+      RejectedExecutionHandler rejectionPolicy) {
+    return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory(name), rejectionPolicy);
+  }
+
+  ExecutorService virtualThreadPerTaskExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new ConfigurationException(VIRTUAL_THREADS + " requires a JDK 21+ runtime", e);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package dc.vilnius.tasks;
+
+import dc.vilnius.slack.domain.SlackMessageFacade;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+
+@Singleton
+public class KudosNotificationDispatcher {
+
+  private final SlackMessageFacade slackMessageFacade;
+  private final int batchSize;
+
+  public KudosNotificationDispatcher(SlackMessageFacade slackMessageFacade,
+      @Value("${hero.kudos.notifications.batch-size:50}") int batchSize) {
+    this.slackMessageFacade = slackMessageFacade;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelay = "${hero.kudos.notifications.dispatch-interval:5s}")
+  public void dispatch() {
+    slackMessageFacade.dispatchScheduledMessages(batchSize);
+  }
+}
@@ -1,7 +1,5 @@
 package dc.vilnius.tasks;
 
-import com.slack.api.bolt.AppConfig;
-import dc.vilnius.kudos.domain.KudosFacade;
 import dc.vilnius.slack.domain.SlackMessageFacade;
 import io.micronaut.context.event.ApplicationEventListener;
 import jakarta.inject.Singleton;
@@ -14,14 +12,15 @@ public class KudosOfTheMonthListener implements ApplicationEventListener<HeroOfT
 
   private final SlackMessageFacade slackMessageFacade;
 
-  public KudosOfTheMonthListener(AppConfig appConfig, KudosFacade kudosFacade) {
-    this.slackMessageFacade = new SlackMessageFacade(kudosFacade, appConfig);
+  public KudosOfTheMonthListener(SlackMessageFacade slackMessageFacade) {
+    this.slackMessageFacade = slackMessageFacade;
   }
 
   @Override
   public void onApplicationEvent(HeroOfTheMonthEvent event) {
     logger.info("Consuming event: {}", event);
-    slackMessageFacade.handleHeroOfTheMonth(event.channelId(), event.requestedBy(), event.date());
+    slackMessageFacade.handleHeroOfTheMonth(event.channelId(), event.requestedBy(), event.date(),
+        event.top());
   }
 
   @Override
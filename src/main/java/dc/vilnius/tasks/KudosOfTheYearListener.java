@@ -1,7 +1,5 @@
 package dc.vilnius.tasks;
 
-import com.slack.api.bolt.AppConfig;
-import dc.vilnius.kudos.domain.KudosFacade;
 import dc.vilnius.slack.domain.SlackMessageFacade;
 import io.micronaut.context.event.ApplicationEventListener;
 import jakarta.inject.Singleton;
@@ -14,14 +12,14 @@ public class KudosOfTheYearListener implements ApplicationEventListener<HeroOfTh
 
   private final SlackMessageFacade slackMessageFacade;
 
-  public KudosOfTheYearListener(AppConfig appConfig, KudosFacade kudosFacade) {
-    this.slackMessageFacade = new SlackMessageFacade(kudosFacade, appConfig);
+  public KudosOfTheYearListener(SlackMessageFacade slackMessageFacade) {
+    this.slackMessageFacade = slackMessageFacade;
   }
 
   @Override
   public void onApplicationEvent(HeroOfTheYearEvent event) {
     logger.info("Consuming event: {}", event);
-    slackMessageFacade.handleHeroOfTheYear(event.channelId(), event.requestedBy());
+    slackMessageFacade.handleHeroOfTheYear(event.channelId(), event.requestedBy(), event.top());
   }
 
   @Override
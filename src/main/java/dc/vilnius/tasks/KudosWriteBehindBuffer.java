@@ -0,0 +1,177 @@
+package dc.vilnius.tasks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dc.vilnius.kudos.domain.KudosFacade;
+import dc.vilnius.kudos.dto.GiveKudos;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.scheduling.annotation.Scheduled;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+public class KudosWriteBehindBuffer {
+
+  private final Logger logger = LoggerFactory.getLogger(KudosWriteBehindBuffer.class);
+
+  private final KudosFacade kudosFacade;
+  private final ObjectMapper objectMapper;
+  private final BlockingQueue<GiveKudos> pending;
+  private final int batchSize;
+  private final Path spillFile;
+  private final Path deadLetterFile;
+  private final Duration replayBackoff;
+  private Instant nextReplay = Instant.MIN;
+
+  public KudosWriteBehindBuffer(KudosFacade kudosFacade, ObjectMapper objectMapper,
+      @Value("${hero.kudos.write-behind.capacity:10000}") int capacity,
+      @Value("${hero.kudos.write-behind.batch-size:500}") int batchSize,
+      @Value("${hero.kudos.write-behind.spill-file:kudos-write-behind.jsonl}") String spillFile,
+      @Value("${hero.kudos.write-behind.dead-letter-file:kudos-dead-letter.jsonl}")
+          String deadLetterFile,
+      @Value("${hero.kudos.write-behind.replay-backoff:30s}") Duration replayBackoff) {
+    this.kudosFacade = kudosFacade;
+    this.objectMapper = objectMapper;
+    this.pending = new ArrayBlockingQueue<>(capacity);
+    this.batchSize = batchSize;
+    this.spillFile = Path.of(spillFile);
+    this.deadLetterFile = Path.of(deadLetterFile);
+    this.replayBackoff = replayBackoff;
+    if (!this.spillFile.isAbsolute()) {
+      logger.warn("Spilling votes to the relative path {}, set KUDOS_SPILL_FILE to a path on a "
+          + "persistent volume to keep them across restarts", this.spillFile.toAbsolutePath());
+    }
+  }
+
+  public void add(GiveKudos giveKudos) {
+    if (!pending.offer(giveKudos)) {
+      logger.warn("Write-behind buffer is full, storing kudos for channel {} directly",
+          giveKudos.channel());
+      kudosFacade.submit(giveKudos);
+      return;
+    }
+    if (pending.size() >= batchSize) {
+      flush();
+    }
+  }
+
+  @Scheduled(fixedDelay = "${hero.kudos.write-behind.flush-interval:200ms}")
+  public synchronized void flush() {
+    replaySpilled();
+    var batch = new ArrayList<GiveKudos>(batchSize);
+    while (pending.drainTo(batch, batchSize) > 0) {
+      store(batch, "buffered");
+      batch.clear();
+    }
+  }
+
+  @PreDestroy
+  public synchronized void close() {
+    var remaining = new ArrayList<GiveKudos>();
+    pending.drainTo(remaining);
+    if (remaining.isEmpty()) {
+      return;
+    }
+    store(remaining, "buffered");
+  }
+
+  private boolean store(List<GiveKudos> votes, String kind) {
+    if (votes.size() > 1) {
+      try {
+        kudosFacade.submitAll(votes);
+        logger.info("Stored {} {} votes", votes.size(), kind);
+        return true;
+      } catch (RuntimeException e) {
+        logger.warn("Failed to store {} {} votes in one batch, storing them one by one",
+            votes.size(), kind, e);
+      }
+    }
+    return storeOneByOne(votes, kind);
+  }
+
+  private boolean storeOneByOne(List<GiveKudos> votes, String kind) {
+    var stored = 0;
+    for (int i = 0; i < votes.size(); i++) {
+      var giveKudos = votes.get(i);
+      try {
+        kudosFacade.submit(giveKudos);
+        stored++;
+      } catch (RuntimeException e) {
+        if (isRejected(e)) {
+          logger.error("Rejected an invalid vote in channel {}, moving it to {}",
+              giveKudos.channel(), deadLetterFile, e);
+          append(deadLetterFile, List.of(giveKudos));
+          continue;
+        }
+        var unstored = votes.subList(i, votes.size());
+        logger.error("Failed to store {} {} votes, spilling them to {}", unstored.size(), kind,
+            spillFile, e);
+        append(spillFile, unstored);
+        return false;
+      }
+    }
+    logger.info("Stored {} of {} {} votes", stored, votes.size(), kind);
+    return true;
+  }
+
+  private static boolean isRejected(Throwable e) {
+    for (var cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException) {
+        return true;
+      }
+      if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+          && sqlException.getSQLState().startsWith("23")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void append(Path file, List<GiveKudos> votes) {
+    try {
+      var lines = new ArrayList<String>(votes.size());
+      for (GiveKudos giveKudos : votes) {
+        lines.add(objectMapper.writeValueAsString(giveKudos));
+      }
+      Files.write(file, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+          StandardOpenOption.APPEND);
+    } catch (IOException e) {
+      votes.forEach(giveKudos -> logger.error("Lost vote: {}", giveKudos));
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void replaySpilled() {
+    if (!Files.exists(spillFile) || Instant.now().isBefore(nextReplay)) {
+      return;
+    }
+    var spilled = new ArrayList<GiveKudos>();
+    try {
+      for (String line : Files.readAllLines(spillFile, StandardCharsets.UTF_8)) {
+        spilled.add(objectMapper.readValue(line, GiveKudos.class));
+      }
+      Files.delete(spillFile);
+    } catch (IOException e) {
+      logger.error("Failed to read spilled votes from {}", spillFile, e);
+      return;
+    }
+    if (!spilled.isEmpty() && !store(spilled, "spilled")) {
+      nextReplay = Instant.now().plus(replayBackoff);
+    }
+  }
+}
@@ -1,9 +1,12 @@
 package dc.vilnius.tasks;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micronaut.context.event.ApplicationEventPublisher;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
 import jakarta.inject.Singleton;
-import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -15,8 +18,23 @@ public class SubmitKudosEmitter {
   @Inject
   ApplicationEventPublisher<SubmitKudosEvent> eventPublisher;
 
-  public void publish(String channelId, List<String> usernames, String message) {
-    logger.info("Publishing message to {} channel", channelId);
-    eventPublisher.publishEventAsync(new SubmitKudosEvent(channelId, usernames, message));
+  @Inject
+  @Named(KudosExecutorFactory.VOTES)
+  ExecutorService executor;
+
+  @Inject
+  MeterRegistry meterRegistry;
+
+  public boolean publish(String channelId, String requestedBy, String text, String responseUrl) {
+    var event = new SubmitKudosEvent(channelId, requestedBy, text, responseUrl);
+    try {
+      executor.execute(() -> eventPublisher.publishEvent(event));
+      return true;
+    } catch (RejectedExecutionException e) {
+      logger.warn("Vote queue is full, rejected vote in {} channel by {}", channelId, requestedBy);
+      meterRegistry.counter("kudos.events.rejected", "executor", KudosExecutorFactory.VOTES)
+          .increment();
+      return false;
+    }
   }
 }
@@ -1,5 +1,10 @@
 package dc.vilnius.tasks;
 
-import java.util.List;
+public record SubmitKudosEvent(String channelId, String requestedBy, String text,
+                               String responseUrl) {
 
-public record SubmitKudosEvent(String channelId, List<String> usernames, String message) {}
+  @Override
+  public String toString() {
+    return "SubmitKudosEvent[channelId=" + channelId + ", requestedBy=" + requestedBy + "]";
+  }
+}
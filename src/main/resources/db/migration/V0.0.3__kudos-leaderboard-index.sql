@@ -0,0 +1,2 @@
+create index if not exists kudos_channel_create_date_username_idx
+    on kudos (channel, create_date, username);
@@ -0,0 +1,15 @@
+create table if not exists kudos_monthly_tally
+(
+    id         uuid primary key DEFAULT uuid_generate_v4(),
+    channel    text   not null,
+    year_month date   not null,
+    username   text   not null,
+    vote_count bigint not null,
+    CONSTRAINT UC_KUDOS_MONTHLY_TALLY UNIQUE (channel, year_month, username)
+);
+
+insert into kudos_monthly_tally (channel, year_month, username, vote_count)
+select channel, date_trunc('month', create_date)::date, username, count(*)
+from kudos
+group by channel, date_trunc('month', create_date)::date, username
+on conflict (channel, year_month, username) do nothing;
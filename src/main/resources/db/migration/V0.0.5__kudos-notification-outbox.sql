@@ -0,0 +1,16 @@
+create table if not exists kudos_notification
+(
+    id                   uuid primary key DEFAULT uuid_generate_v4(),
+    kudos_id             uuid      not null,
+    recipient            text      not null,
+    message              text      not null,
+    status               text      not null,
+    attempts             integer   not null,
+    next_attempt_at      TIMESTAMP not null,
+    scheduled_message_id text,
+    create_date          TIMESTAMP not null,
+    CONSTRAINT UC_KUDOS_NOTIFICATION_KUDOS UNIQUE (kudos_id)
+);
+
+create index if not exists kudos_notification_pending_idx
+    on kudos_notification (next_attempt_at) where status = 'PENDING';
@@ -0,0 +1,11 @@
+create table if not exists kudos_digest
+(
+    id                   uuid primary key DEFAULT uuid_generate_v4(),
+    recipient            text    not null,
+    year_month           date    not null,
+    dm_channel           text,
+    scheduled_message_id text,
+    kudos_count          integer not null,
+    body                 text    not null,
+    CONSTRAINT UC_KUDOS_DIGEST UNIQUE (recipient, year_month)
+);
@@ -0,0 +1 @@
+alter table kudos_digest add column if not exists post_at timestamp;
@@ -0,0 +1,2 @@
+alter table kudos_digest add column if not exists version bigint not null default 0;
+alter table kudos_digest add column if not exists lease_until timestamp;
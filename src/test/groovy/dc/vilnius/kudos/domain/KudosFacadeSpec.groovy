@@ -0,0 +1,93 @@
+package dc.vilnius.kudos.domain
+
+import dc.vilnius.kudos.dto.GiveKudos
+import dc.vilnius.kudos.dto.HeroRankDto
+import dc.vilnius.kudos.dto.HeroVotesDto
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import org.hibernate.SessionFactory
+import spock.lang.Specification
+
+import javax.persistence.EntityManagerFactory
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.temporal.ChronoUnit
+
+@MicronautTest
+class KudosFacadeSpec extends Specification {
+
+    @Inject
+    KudosFacade kudosFacade
+
+    @Inject
+    EntityManagerFactory entityManagerFactory
+
+    def "Counts votes per hero ordered by vote count"() {
+        given:
+        kudosFacade.submit(new GiveKudos("CHANNEL", ["U1", "U2"], "good work!", LocalDateTime.now()))
+        kudosFacade.submit(new GiveKudos("CHANNEL", ["U2"], "you rock", LocalDateTime.now()))
+        kudosFacade.submit(new GiveKudos("OTHER", ["U1"], "thanks", LocalDateTime.now()))
+
+        when:
+        def leaderboard = kudosFacade.findGivenYearLeaderboard("CHANNEL", LocalDate.now())
+
+        then:
+        leaderboard.heroes() == [new HeroVotesDto("U2", 2), new HeroVotesDto("U1", 1)]
+        leaderboard.messagesByHero() == [U1: ["good work!"], U2: ["good work!", "you rock"]]
+    }
+
+    def "Dates the notification of a replayed vote from when it was given"() {
+        given:
+        def given = LocalDateTime.now().minusDays(40).truncatedTo(ChronoUnit.SECONDS)
+        kudosFacade.submit(new GiveKudos("CHANNEL", ["LATE"], "late thanks", given))
+
+        expect:
+        kudosFacade.claimPendingNotifications(10).find { it.recipient() == "LATE" }.created() == given
+    }
+
+    def "Reads messages only for the top heroes"() {
+        given:
+        kudosFacade.submit(new GiveKudos("TOP", ["U1", "U2"], "good work!", LocalDateTime.now()))
+        kudosFacade.submit(new GiveKudos("TOP", ["U2"], "you rock", LocalDateTime.now()))
+
+        when:
+        def leaderboard = kudosFacade.findGivenYearLeaderboard("TOP", LocalDate.now(), 1)
+
+        then:
+        leaderboard.heroes() == [new HeroVotesDto("U2", 2)]
+        leaderboard.messagesByHero() == [U2: ["good work!", "you rock"]]
+        kudosFacade.findGivenYearRank("TOP", LocalDate.now(), "U1") == Optional.of(new HeroRankDto("U1", 2, 1))
+    }
+
+    def "Stores a vote for many heroes, their notifications and tallies in batched statements"() {
+        given:
+        def statistics = entityManagerFactory.unwrap(SessionFactory).statistics
+        def heroes = (1..15).collect { "HERO$it".toString() }
+        statistics.clear()
+
+        when:
+        kudosFacade.submit(new GiveKudos("CHANNEL", heroes, "great sprint", LocalDateTime.now()))
+
+        then:
+        statistics.entityInsertCount == 30
+        statistics.prepareStatementCount == 5
+    }
+
+    def "Claims pending notifications once until they are completed"() {
+        given:
+        kudosFacade.submit(new GiveKudos("CHANNEL", ["U1", "U2"], "thanks!", LocalDateTime.now()))
+
+        when:
+        def claimed = kudosFacade.claimPendingNotifications(10)
+
+        then:
+        claimed*.recipient.toSet() == ["U1", "U2"].toSet()
+        kudosFacade.claimPendingNotifications(10).empty
+
+        when:
+        kudosFacade.completeNotifications([(claimed[0].id()): "Q1"], [claimed[1].id()].toSet())
+
+        then:
+        kudosFacade.claimPendingNotifications(10).empty
+    }
+}
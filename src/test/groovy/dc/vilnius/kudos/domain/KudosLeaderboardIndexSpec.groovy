@@ -0,0 +1,59 @@
+package dc.vilnius.kudos.domain
+
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Requires
+import spock.lang.Specification
+
+import javax.persistence.EntityManager
+
+@MicronautTest
+class KudosLeaderboardIndexSpec extends Specification {
+
+    static final String LEADERBOARD_QUERY = """
+            explain select username from kudos
+            where channel = 'C7'
+              and username in ('U1', 'U2')
+              and create_date between timestamp '2021-01-01' and timestamp '2021-12-31'
+            order by username
+            """
+
+    @Inject
+    EntityManager entityManager
+
+    def "Leaderboard range query can use the channel and create date index"() {
+        given:
+        entityManager.createNativeQuery("""
+                insert into kudos (channel, username, message, create_date)
+                select 'C' || (i % 5), 'U' || (i % 50), 'thanks for the help',
+                       timestamp '2021-01-01' + (i % 365) * interval '1 day'
+                from generate_series(1, 1000) i
+                """).executeUpdate()
+        entityManager.createNativeQuery("set local enable_seqscan = off").executeUpdate()
+
+        when:
+        def plan = entityManager.createNativeQuery(LEADERBOARD_QUERY).resultList.join("\n")
+
+        then:
+        plan.contains("kudos_channel_create_date_username_idx")
+    }
+
+    @Requires({ sys["hero.slowTests"] == "true" })
+    def "Leaderboard range query uses the channel and create date index on a seeded table"() {
+        given:
+        entityManager.createNativeQuery("""
+                insert into kudos (channel, username, message, create_date)
+                select 'C' || (i % 50), 'U' || (i % 500), 'thanks for the help',
+                       timestamp '2018-01-01' + (i % 1826) * interval '1 day'
+                from generate_series(1, 2000000) i
+                """).executeUpdate()
+        entityManager.createNativeQuery("analyze kudos").executeUpdate()
+
+        when:
+        def plan = entityManager.createNativeQuery(LEADERBOARD_QUERY).resultList.join("\n")
+
+        then:
+        plan.contains("kudos_channel_create_date_username_idx")
+        !plan.contains("Seq Scan on kudos")
+    }
+}
@@ -0,0 +1,39 @@
+package dc.vilnius.kudos.domain
+
+import dc.vilnius.kudos.dto.GiveKudos
+import io.micronaut.context.event.ApplicationEventPublisher
+import spock.lang.Specification
+
+import java.time.LocalDate
+import java.time.LocalDateTime
+
+class KudosMonthlyTallySpec extends Specification {
+
+    def kudosRepository = Mock(KudosRepository) {
+        saveAll(_) >> { List args -> args[0] }
+    }
+    def kudosMonthlyTallyRepository = Mock(KudosMonthlyTallyRepository)
+    def kudosFacade = new KudosFacade(kudosRepository, kudosMonthlyTallyRepository, null, null, null,
+            Mock(KudosNotificationOutbox), null, Mock(ApplicationEventPublisher))
+
+    def "Upserts tallies ordered by channel, month and hero so concurrent votes lock rows alike"() {
+        given:
+        def now = LocalDateTime.of(2022, 3, 15, 12, 0)
+
+        when:
+        kudosFacade.submitAll([
+                new GiveKudos("B", ["U3", "U1"], "thanks", now),
+                new GiveKudos("A", ["U2", "U1", "U3"], "thanks", now),
+                new GiveKudos("A", ["U2"], "again", now.minusMonths(1))
+        ])
+
+        then:
+        1 * kudosMonthlyTallyRepository.upsertVotes("A", LocalDate.of(2022, 2, 1), ["U2"], [1L])
+
+        then:
+        1 * kudosMonthlyTallyRepository.upsertVotes("A", LocalDate.of(2022, 3, 1), ["U1", "U2", "U3"], [1L, 1L, 1L])
+
+        then:
+        1 * kudosMonthlyTallyRepository.upsertVotes("B", LocalDate.of(2022, 3, 1), ["U1", "U3"], [1L, 1L])
+    }
+}
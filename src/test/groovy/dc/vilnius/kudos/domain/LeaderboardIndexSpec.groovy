@@ -0,0 +1,88 @@
+package dc.vilnius.kudos.domain
+
+import dc.vilnius.kudos.dto.HeroVotesDto
+import spock.lang.Specification
+
+import java.time.LocalDate
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class LeaderboardIndexSpec extends Specification {
+
+    static final LocalDate JANUARY = LocalDate.of(2022, 1, 1)
+
+    def repository = Mock(KudosMonthlyTallyRepository)
+    def index = new LeaderboardIndex(repository)
+
+    def "Serves nothing until warmed from the monthly tallies"() {
+        given:
+        repository.findByYearMonthGreaterThanEqual(JANUARY) >> [
+                tally("CHANNEL", JANUARY, "U1", 3),
+                tally("CHANNEL", JANUARY, "U2", 5),
+                tally("OTHER", JANUARY, "U1", 1)
+        ]
+
+        expect:
+        index.month("CHANNEL", JANUARY).isEmpty()
+
+        when:
+        index.warm(JANUARY)
+
+        then:
+        index.month("CHANNEL", JANUARY.plusDays(10)).get() ==
+                [new HeroVotesDto("U2", 5), new HeroVotesDto("U1", 3)]
+        index.month("CHANNEL", JANUARY.minusMonths(1)).isEmpty()
+    }
+
+    def "Serves the month ranking from the index without reading the tallies"() {
+        given:
+        repository.findByYearMonthGreaterThanEqual(JANUARY) >> [tally("CHANNEL", JANUARY, "U1", 3)]
+        index.warm(JANUARY)
+        def loader = Mock(LeaderboardLoader)
+        def cache = Mock(LeaderboardCache)
+        def kudosFacade = new KudosFacade(null, null, loader, cache, index, null, null, null)
+
+        when:
+        def leaderboard = kudosFacade.findGivenMonthLeaderboard("CHANNEL", JANUARY, 0)
+        def rank = kudosFacade.findGivenMonthRank("CHANNEL", JANUARY, "U1")
+
+        then:
+        0 * cache._
+        0 * loader.heroes(_)
+        1 * loader.messages(LeaderboardKey.month("CHANNEL", JANUARY), [new HeroVotesDto("U1", 3)]) >>
+                [U1: ["thanks"]]
+        leaderboard.heroes() == [new HeroVotesDto("U1", 3)]
+        leaderboard.messagesByHero() == [U1: ["thanks"]]
+        rank.get().rank() == 1
+    }
+
+    def "Keeps the highest total when votes for the same hero arrive concurrently"() {
+        given:
+        repository.findByYearMonthGreaterThanEqual(JANUARY) >> []
+        index.warm(JANUARY)
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        (1..1000).collect { total ->
+            executor.submit { index.update("CHANNEL", JANUARY, [new HeroVotesDto("U1", total)]) }
+        }*.get()
+        index.update("CHANNEL", JANUARY, [new HeroVotesDto("U1", 10)])
+
+        then:
+        index.month("CHANNEL", JANUARY).get() == [new HeroVotesDto("U1", 1000)]
+
+        cleanup:
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.SECONDS)
+    }
+
+    private static KudosMonthlyTally tally(String channel, LocalDate yearMonth, String username,
+                                           long voteCount) {
+        def tally = new KudosMonthlyTally()
+        tally.channel = channel
+        tally.yearMonth = yearMonth
+        tally.username = username
+        tally.voteCount = voteCount
+        tally
+    }
+}
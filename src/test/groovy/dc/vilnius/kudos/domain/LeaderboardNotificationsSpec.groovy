@@ -0,0 +1,81 @@
+package dc.vilnius.kudos.domain
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import dc.vilnius.kudos.dto.GiveKudos
+import io.micronaut.context.annotation.Property
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.sql.DataSource
+import java.time.Duration
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.temporal.TemporalAdjusters
+
+@MicronautTest(transactional = false)
+@Property(name = "hero.kudos.notifications.dispatch-interval", value = "1h")
+class LeaderboardNotificationsSpec extends Specification {
+
+    static final String CHANNEL = "NOTIFIED"
+
+    @Inject
+    KudosFacade kudosFacade
+
+    @Inject
+    KudosMonthlyTallyRepository kudosMonthlyTallyRepository
+
+    @Inject
+    DataSource dataSource
+
+    @Inject
+    ObjectMapper objectMapper
+
+    @Inject
+    LeaderboardCache leaderboardCache
+
+    def "Updates the leaderboard index of another instance after a vote commits"() {
+        given:
+        def today = LocalDate.now()
+        def otherIndex = new LeaderboardIndex(Stub(KudosMonthlyTallyRepository) {
+            findByYearMonthGreaterThanEqual(_) >> []
+        })
+        otherIndex.warm(today.with(TemporalAdjusters.firstDayOfYear()))
+        def otherInstance = new LeaderboardNotifications(dataSource, objectMapper,
+                kudosMonthlyTallyRepository, leaderboardCache, otherIndex, Duration.ofMillis(100),
+                Duration.ofMillis(100))
+        otherInstance.start()
+        def heroes = (1..250).collect { "U$it".toString() }
+        assert otherInstance.awaitListening(Duration.ofSeconds(10))
+
+        when:
+        kudosFacade.submit(new GiveKudos(CHANNEL, heroes, "thanks team", LocalDateTime.now()))
+
+        then:
+        new PollingConditions(timeout: 10).eventually {
+            assert otherIndex.month(CHANNEL, today).get().size() == 250
+        }
+        otherIndex.month(CHANNEL, today).get()*.username().toSet() == heroes.toSet()
+        otherIndex.month(CHANNEL, today).get().every { it.voteCount() == 1 }
+
+        cleanup:
+        otherInstance?.stop()
+        deleteVotes()
+    }
+
+    private void deleteVotes() {
+        dataSource.connection.withCloseable { connection ->
+            [
+                    "DELETE FROM kudos_notification WHERE kudos_id IN (SELECT id FROM kudos WHERE channel = ?)",
+                    "DELETE FROM kudos WHERE channel = ?",
+                    "DELETE FROM kudos_monthly_tally WHERE channel = ?"
+            ].each { sql ->
+                connection.prepareStatement(sql).withCloseable {
+                    it.setString(1, CHANNEL)
+                    it.executeUpdate()
+                }
+            }
+        }
+    }
+}
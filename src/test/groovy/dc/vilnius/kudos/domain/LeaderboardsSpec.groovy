@@ -0,0 +1,35 @@
+package dc.vilnius.kudos.domain
+
+import dc.vilnius.kudos.dto.HeroRankDto
+import dc.vilnius.kudos.dto.HeroVotesDto
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class LeaderboardsSpec extends Specification {
+
+    def heroes = [
+            new HeroVotesDto("U1", 5),
+            new HeroVotesDto("U2", 3),
+            new HeroVotesDto("U3", 3),
+            new HeroVotesDto("U4", 1)
+    ]
+
+    @Unroll
+    def "Keeps #expected heroes for top=#top"() {
+        expect:
+        Leaderboards.top(heroes, top)*.username() == expected
+
+        where:
+        top | expected
+        0   | ["U1", "U2", "U3", "U4"]
+        2   | ["U1", "U2"]
+        10  | ["U1", "U2", "U3", "U4"]
+    }
+
+    def "Ranks tied heroes equally"() {
+        expect:
+        Leaderboards.rankOf(heroes, "U3") == Optional.of(new HeroRankDto("U3", 2, 3))
+        Leaderboards.rankOf(heroes, "U4") == Optional.of(new HeroRankDto("U4", 4, 1))
+        Leaderboards.rankOf(heroes, "U5") == Optional.empty()
+    }
+}
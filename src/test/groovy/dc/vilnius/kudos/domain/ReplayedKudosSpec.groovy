@@ -0,0 +1,53 @@
+package dc.vilnius.kudos.domain
+
+import dc.vilnius.kudos.dto.GiveKudos
+import dc.vilnius.kudos.dto.HeroVotesDto
+import io.micronaut.context.annotation.Property
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.time.LocalDate
+import java.time.LocalDateTime
+
+@MicronautTest(transactional = false)
+@Property(name = "hero.kudos.notifications.dispatch-interval", value = "1h")
+class ReplayedKudosSpec extends Specification {
+
+    static final String CHANNEL = "REPLAYED"
+
+    @Inject
+    KudosFacade kudosFacade
+
+    @Inject
+    DataSource dataSource
+
+    def cleanup() {
+        dataSource.connection.withCloseable { connection ->
+            [
+                    "DELETE FROM kudos_notification WHERE kudos_id IN (SELECT id FROM kudos WHERE channel = ?)",
+                    "DELETE FROM kudos WHERE channel = ?",
+                    "DELETE FROM kudos_monthly_tally WHERE channel = ?"
+            ].each { sql ->
+                connection.prepareStatement(sql).withCloseable {
+                    it.setString(1, CHANNEL)
+                    it.executeUpdate()
+                }
+            }
+        }
+    }
+
+    def "Counts a replayed vote in the month it was given"() {
+        given:
+        def lastMonth = LocalDateTime.now().minusMonths(1)
+
+        when:
+        kudosFacade.submitAll([new GiveKudos(CHANNEL, ["U1"], "late thanks", lastMonth)])
+
+        then:
+        kudosFacade.findGivenMonthLeaderboard(CHANNEL, lastMonth.toLocalDate()).heroes() ==
+                [new HeroVotesDto("U1", 1)]
+        kudosFacade.findGivenMonthLeaderboard(CHANNEL, LocalDate.now()).heroes().empty
+    }
+}
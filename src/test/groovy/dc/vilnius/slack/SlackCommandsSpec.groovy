@@ -0,0 +1,121 @@
+package dc.vilnius.slack
+
+import com.slack.api.Slack
+import com.slack.api.SlackConfig
+import com.slack.api.app_backend.SlackSignature
+import com.slack.api.bolt.AppConfig
+import com.slack.api.bolt.request.RequestHeaders
+import com.slack.api.bolt.request.builtin.SlashCommandRequest
+import com.sun.net.httpserver.HttpServer
+import dc.vilnius.tasks.GetKudosOfTheMonthEmitter
+import dc.vilnius.tasks.GetKudosOfTheYearEmitter
+import dc.vilnius.tasks.SubmitKudosEmitter
+import groovy.json.JsonOutput
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class SlackCommandsSpec extends Specification {
+
+    static final String SIGNING_SECRET = "secret"
+
+    def webApi = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+    def getKudosOfTheMonthEmitter = Mock(GetKudosOfTheMonthEmitter)
+    def getKudosOfTheYearEmitter = Mock(GetKudosOfTheYearEmitter)
+    def submitKudosEmitter = Mock(SubmitKudosEmitter)
+    def app
+
+    def setup() {
+        webApi.createContext("/api/") { exchange ->
+            def body = JsonOutput.toJson([ok: true, user_id: "UBOT", bot_id: "BBOT", team_id: "T1",
+                                          url: "https://test.slack.com/"]).getBytes(StandardCharsets.UTF_8)
+            exchange.responseHeaders.add("Content-Type", "application/json")
+            exchange.sendResponseHeaders(200, body.length)
+            exchange.responseBody.withCloseable { it.write(body) }
+        }
+        webApi.start()
+        def slackConfig = new SlackConfig()
+        slackConfig.methodsEndpointUrlPrefix = "http://localhost:${webApi.address.port}/api/"
+        def appConfig = AppConfig.builder()
+                .slack(Slack.getInstance(slackConfig))
+                .singleTeamBotToken("xoxb-test")
+                .signingSecret(SIGNING_SECRET)
+                .build()
+        app = new SlackFactory().createApp(appConfig, getKudosOfTheMonthEmitter,
+                getKudosOfTheYearEmitter, submitKudosEmitter, new SimpleMeterRegistry(), 0)
+    }
+
+    def cleanup() {
+        webApi.stop(0)
+    }
+
+    def "Acks a vote and hands it over with the response_url"() {
+        when:
+        def response = app.run(command("/hero-vote", "<@U2> thanks"))
+
+        then:
+        1 * submitKudosEmitter.publish("C1", "U1", "<@U2> thanks", "https://hooks.slack.com/commands/T1/1/test") >> true
+        response.statusCode == 200
+        !response.body
+    }
+
+    def "Acks with the busy message when the vote queue is full"() {
+        given:
+        submitKudosEmitter.publish(*_) >> false
+
+        when:
+        def response = app.run(command("/hero-vote", "<@U2> thanks"))
+
+        then:
+        response.statusCode == 200
+        response.body.contains("Too many votes right now, please try again in a minute")
+    }
+
+    def "Acks with the usage message for an empty vote"() {
+        when:
+        def response = app.run(command("/hero-vote", " "))
+
+        then:
+        0 * submitKudosEmitter.publish(*_)
+        response.body.contains("Mention at least one hero")
+    }
+
+    def "Acks with the busy message when the leaderboard queue is full"() {
+        given:
+        getKudosOfTheYearEmitter.publish(*_) >> false
+
+        when:
+        def response = app.run(command("/heroes-of-the-year", ""))
+
+        then:
+        response.body.contains("Too many leaderboard requests right now, please try again in a minute")
+    }
+
+    def "Acks with the usage message when the yearly leaderboard is given a date"() {
+        when:
+        def response = app.run(command("/heroes-of-the-year", "2021-09-01"))
+
+        then:
+        0 * getKudosOfTheYearEmitter.publish(*_)
+        response.body.contains("Usage: [top=N], e.g. top=20")
+    }
+
+    private static SlashCommandRequest command(String command, String text) {
+        def body = [
+                command     : command,
+                text        : text,
+                team_id     : "T1",
+                channel_id  : "C1",
+                user_id     : "U1",
+                response_url: "https://hooks.slack.com/commands/T1/1/test",
+                trigger_id  : "1.1.test"
+        ].collect { key, value -> "$key=${URLEncoder.encode(value, StandardCharsets.UTF_8)}" }.join("&")
+        def timestamp = String.valueOf(System.currentTimeMillis().intdiv(1000))
+        def signature = new SlackSignature.Generator(SIGNING_SECRET).generate(timestamp, body)
+        new SlashCommandRequest(body, new RequestHeaders([
+                (SlackSignature.HeaderNames.X_SLACK_REQUEST_TIMESTAMP): [timestamp],
+                (SlackSignature.HeaderNames.X_SLACK_SIGNATURE)        : [signature]
+        ]))
+    }
+}
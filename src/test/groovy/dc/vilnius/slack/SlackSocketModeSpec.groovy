@@ -0,0 +1,129 @@
+package dc.vilnius.slack
+
+import com.slack.api.Slack
+import com.slack.api.SlackConfig
+import com.slack.api.bolt.App
+import com.slack.api.bolt.AppConfig
+import com.sun.net.httpserver.HttpServer
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import org.java_websocket.WebSocket
+import org.java_websocket.handshake.ClientHandshake
+import org.java_websocket.server.WebSocketServer
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class SlackSocketModeSpec extends Specification {
+
+    def acks = new LinkedBlockingQueue<String>()
+    def webSocketStarted = new CountDownLatch(1)
+    def webSocketServer = new FakeSlackWebSocket(acks, webSocketStarted)
+    def webApi = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+    def socketModeApp
+
+    def setup() {
+        webSocketServer.start()
+        assert webSocketStarted.await(10, TimeUnit.SECONDS)
+        webApi.createContext("/api/") { exchange ->
+            def method = exchange.requestURI.path.substring("/api/".length())
+            def body = JsonOutput.toJson(webApiResponse(method)).getBytes(StandardCharsets.UTF_8)
+            exchange.responseHeaders.add("Content-Type", "application/json")
+            exchange.sendResponseHeaders(200, body.length)
+            exchange.responseBody.withCloseable { it.write(body) }
+        }
+        webApi.start()
+    }
+
+    def cleanup() {
+        socketModeApp?.close()
+        webApi.stop(0)
+        webSocketServer.stop()
+    }
+
+    def "Receives slash commands and acks them over the WebSocket"() {
+        given:
+        def slackConfig = new SlackConfig()
+        slackConfig.methodsEndpointUrlPrefix = "http://localhost:${webApi.address.port}/api/"
+        def app = new App(AppConfig.builder()
+                .slack(Slack.getInstance(slackConfig))
+                .singleTeamBotToken("xoxb-test")
+                .signingSecret("secret")
+                .build())
+        app.command("/hero-ping") { req, ctx -> ctx.ack("pong") }
+
+        when:
+        socketModeApp = new SlackFactory().createSocketModeApp(app, "xapp-test")
+        def ack = acks.poll(10, TimeUnit.SECONDS)
+
+        then:
+        ack != null
+        with(new JsonSlurper().parseText(ack)) {
+            envelope_id == "envelope-1"
+            payload.text == "pong"
+        }
+    }
+
+    private Map webApiResponse(String method) {
+        switch (method) {
+            case "apps.connections.open":
+                return [ok: true, url: "ws://localhost:${webSocketServer.port}/link".toString()]
+            case "auth.test":
+                return [ok: true, user_id: "UBOT", bot_id: "BBOT", team_id: "T1", url: "https://test.slack.com/"]
+            default:
+                return [ok: true]
+        }
+    }
+
+    static class FakeSlackWebSocket extends WebSocketServer {
+
+        private final Queue<String> acks
+        private final CountDownLatch started
+
+        FakeSlackWebSocket(Queue<String> acks, CountDownLatch started) {
+            super(new InetSocketAddress("localhost", 0))
+            this.acks = acks
+            this.started = started
+        }
+
+        @Override
+        void onOpen(WebSocket conn, ClientHandshake handshake) {
+            conn.send(JsonOutput.toJson([type: "hello", num_connections: 1]))
+            conn.send(JsonOutput.toJson([
+                    envelope_id             : "envelope-1",
+                    type                    : "slash_commands",
+                    accepts_response_payload: true,
+                    payload                 : [
+                            command     : "/hero-ping",
+                            text        : "",
+                            team_id     : "T1",
+                            channel_id  : "C1",
+                            user_id     : "U1",
+                            response_url: "https://hooks.slack.com/commands/T1/1/test",
+                            trigger_id  : "1.1.test"
+                    ]
+            ]))
+        }
+
+        @Override
+        void onMessage(WebSocket conn, String message) {
+            acks << message
+        }
+
+        @Override
+        void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        }
+
+        @Override
+        void onError(WebSocket conn, Exception ex) {
+        }
+
+        @Override
+        void onStart() {
+            started.countDown()
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package dc.vilnius.slack.domain
+
+import com.slack.api.methods.MethodsClient
+import com.slack.api.methods.request.chat.ChatDeleteScheduledMessageRequest
+import com.slack.api.methods.request.chat.ChatScheduleMessageRequest
+import com.slack.api.methods.response.chat.ChatDeleteScheduledMessageResponse
+import com.slack.api.methods.response.chat.ChatScheduleMessageResponse
+import dc.vilnius.kudos.domain.KudosFacade
+import dc.vilnius.kudos.dto.GiveKudos
+import dc.vilnius.kudos.dto.KudosDigestDto
+import io.micronaut.context.annotation.Property
+import io.micronaut.test.annotation.MockBean
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import io.micronaut.transaction.support.TransactionSynchronizationManager
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.util.concurrent.CopyOnWriteArrayList
+
+@MicronautTest(transactional = false)
+@Property(name = "hero.kudos.notifications.digest", value = "true")
+@Property(name = "hero.kudos.notifications.dispatch-interval", value = "1h")
+@Property(name = "hero.kudos.notifications.backoff", value = "0s")
+class KudosDigestSpec extends Specification {
+
+    @Inject
+    KudosFacade kudosFacade
+
+    @Inject
+    SlackMessageFacade slackMessageFacade
+
+    @Inject
+    MethodsClient methodsClient
+
+    def scheduled = new CopyOnWriteArrayList<Map>()
+    def deleted = new CopyOnWriteArrayList<ChatDeleteScheduledMessageRequest>()
+
+    @MockBean(MethodsClient)
+    MethodsClient methodsClient() {
+        Mock(MethodsClient)
+    }
+
+    def "Merges new kudos into the scheduled digest and removes the replaced message afterwards"() {
+        given:
+        def recipient = uniqueRecipient()
+        methodsClient.chatScheduleMessage(_) >> { ChatScheduleMessageRequest request -> schedule(request, true) }
+        methodsClient.chatDeleteScheduledMessage(_) >> { ChatDeleteScheduledMessageRequest request -> delete(request) }
+
+        when:
+        vote(recipient, "good work!")
+        vote(recipient, "you rock")
+
+        then:
+        def digests = scheduledFor(recipient)
+        digests.size() == 2
+        digests[1].text.contains("2 kudos")
+        digests[1].text.contains("good work!")
+        digests[1].text.contains("you rock")
+        deleted*.scheduledMessageId == [digests[0].id]
+    }
+
+    def "Keeps the scheduled digest when the replacement cannot be scheduled"() {
+        given:
+        def recipient = uniqueRecipient()
+        def failNext = false
+        methodsClient.chatScheduleMessage(_) >> { ChatScheduleMessageRequest request ->
+            schedule(request, !failNext)
+        }
+        methodsClient.chatDeleteScheduledMessage(_) >> { ChatDeleteScheduledMessageRequest request -> delete(request) }
+        vote(recipient, "good work!")
+
+        when:
+        failNext = true
+        vote(recipient, "you rock")
+
+        then:
+        deleted.empty
+
+        when:
+        failNext = false
+        vote(recipient, "thanks")
+
+        then:
+        def digest = scheduledFor(recipient).last()
+        digest.text.contains("3 kudos")
+        ["good work!", "you rock", "thanks"].every { digest.text.contains(it) }
+        deleted*.scheduledMessageId == [scheduledFor(recipient).first().id]
+    }
+
+    def "Starts a new digest once the previous one has been posted"() {
+        given:
+        def recipient = uniqueRecipient()
+        def posted = true
+        methodsClient.chatScheduleMessage(_) >> { ChatScheduleMessageRequest request ->
+            def postAt = posted ? Instant.now().minusSeconds(60) : Instant.now().plus(Duration.ofDays(1))
+            schedule(request, true, postAt)
+        }
+        vote(recipient, "good work!")
+
+        when:
+        posted = false
+        vote(recipient, "you rock")
+
+        then:
+        def digest = scheduledFor(recipient).last()
+        digest.text.contains("1 kudos")
+        !digest.text.contains("good work!")
+        0 * methodsClient.chatDeleteScheduledMessage(_)
+    }
+
+    def "Schedules the digest without holding a database transaction"() {
+        given:
+        def recipient = uniqueRecipient()
+        def inTransaction = []
+        methodsClient.chatScheduleMessage(_) >> { ChatScheduleMessageRequest request ->
+            inTransaction << TransactionSynchronizationManager.isActualTransactionActive()
+            schedule(request, true)
+        }
+
+        when:
+        vote(recipient, "good work!")
+
+        then:
+        scheduledFor(recipient).size() == 1
+        inTransaction == [false]
+    }
+
+    def "Leaves a digest claimed by another dispatcher for a later retry"() {
+        given:
+        def recipient = uniqueRecipient()
+        methodsClient.chatScheduleMessage(_) >> { ChatScheduleMessageRequest request -> schedule(request, true) }
+        def claim = kudosFacade.claimDigest(recipient, LocalDate.now()).get()
+
+        when:
+        vote(recipient, "good work!")
+
+        then:
+        scheduledFor(recipient).empty
+        kudosFacade.claimDigest(recipient, LocalDate.now()).empty
+
+        when:
+        kudosFacade.releaseDigest(claim)
+        slackMessageFacade.dispatchScheduledMessages(50)
+
+        then:
+        scheduledFor(recipient).size() == 1
+        scheduledFor(recipient)[0].text.contains("good work!")
+    }
+
+    def "Refuses to save a digest under a claim that was taken over"() {
+        given:
+        def recipient = uniqueRecipient()
+        def stale = kudosFacade.claimDigest(recipient, LocalDate.now()).get()
+        kudosFacade.releaseDigest(stale)
+        def current = kudosFacade.claimDigest(recipient, LocalDate.now()).get()
+        def digest = new KudosDigestDto(recipient, current.yearMonth(), "D1", "Q1",
+                LocalDateTime.now().plusDays(1), 1, "• good work!")
+
+        expect:
+        !kudosFacade.completeDigest(stale, digest)
+        kudosFacade.completeDigest(current, digest)
+    }
+
+    def "Keeps dispatching the batch when a digest throws"() {
+        given:
+        def failing = uniqueRecipient()
+        def recipient = uniqueRecipient()
+        methodsClient.chatScheduleMessage(_) >> { ChatScheduleMessageRequest request ->
+            if (request.channel == failing) {
+                throw new IllegalStateException("boom")
+            }
+            schedule(request, true)
+        }
+        kudosFacade.submit(new GiveKudos("CHANNEL", [failing, recipient], "good work!", LocalDateTime.now()))
+
+        when:
+        slackMessageFacade.dispatchScheduledMessages(50)
+
+        then:
+        scheduledFor(recipient).size() == 1
+        scheduledFor(failing).empty
+    }
+
+    private void vote(String recipient, String message) {
+        kudosFacade.submit(new GiveKudos("CHANNEL", [recipient], message, LocalDateTime.now()))
+        slackMessageFacade.dispatchScheduledMessages(50)
+    }
+
+    private ChatScheduleMessageResponse schedule(ChatScheduleMessageRequest request, boolean ok,
+                                                 Instant postAt = Instant.now().plus(Duration.ofDays(1))) {
+        def response = new ChatScheduleMessageResponse()
+        response.ok = ok
+        if (ok) {
+            def id = "Q${UUID.randomUUID()}".toString()
+            scheduled << [recipient: request.channel, id: id, text: request.text]
+            response.channel = "D-${request.channel}".toString()
+            response.scheduledMessageId = id
+            response.postAt = (int) postAt.epochSecond
+        } else {
+            response.error = "channel_not_found"
+        }
+        response
+    }
+
+    private ChatDeleteScheduledMessageResponse delete(ChatDeleteScheduledMessageRequest request) {
+        deleted << request
+        def response = new ChatDeleteScheduledMessageResponse()
+        response.ok = true
+        response
+    }
+
+    private List<Map> scheduledFor(String recipient) {
+        scheduled.findAll { it.recipient == recipient }
+    }
+
+    private static String uniqueRecipient() {
+        "U${UUID.randomUUID().toString().substring(0, 8)}".toString()
+    }
+}
@@ -0,0 +1,42 @@
+package dc.vilnius.slack.domain
+
+import com.slack.api.model.block.SectionBlock
+import com.slack.api.util.json.GsonFactory
+import dc.vilnius.kudos.dto.HeroVotesDto
+import dc.vilnius.kudos.dto.LeaderboardDto
+import spock.lang.Specification
+
+class LeaderboardBlocksSpec extends Specification {
+
+    def gson = GsonFactory.createSnakeCase()
+
+    def "Splits a huge leaderboard into pages within Slack limits"() {
+        given:
+        def heroes = (1..5000).collect { new HeroVotesDto("U$it".toString(), 5000 - it) }
+        def messages = heroes.collectEntries { [(it.username()): ["Thanks for the help " * 20] * 3] }
+        def leaderboard = new LeaderboardDto(heroes, messages)
+
+        when:
+        def pages = LeaderboardBlocks.render([], leaderboard, [])
+
+        then:
+        pages.size() > 1
+        pages.every { it.size() <= LeaderboardBlocks.MAX_BLOCKS_PER_MESSAGE }
+        pages.every { gson.toJson(it).length() <= LeaderboardBlocks.MAX_MESSAGE_SIZE }
+        pages.flatten().findAll { it instanceof SectionBlock }
+                .every { it.text.text.length() <= LeaderboardBlocks.MAX_TEXT_LENGTH }
+        pages.flatten().findAll { it instanceof SectionBlock }
+                .count { it.text.text.startsWith("*<@") } == 5000
+    }
+
+    def "Keeps a small leaderboard in a single message"() {
+        given:
+        def leaderboard = new LeaderboardDto([new HeroVotesDto("U1", 2)], [U1: ["good work", "thanks"]])
+
+        when:
+        def pages = LeaderboardBlocks.render([], leaderboard, [])
+
+        then:
+        pages.size() == 1
+    }
+}
@@ -0,0 +1,27 @@
+package dc.vilnius.slack.domain
+
+import spock.lang.Specification
+
+class MessageGeneratorSpec extends Specification {
+
+    def "Uses every success message template"() {
+        when:
+        def messages = (1..1000).collect { MessageGenerator.randomSuccessMessage("U123") } as Set
+
+        then:
+        messages.size() == 6
+        messages.every { it.contains("<@U123>") }
+    }
+
+    def "Joins a success message for every mentioned user"() {
+        when:
+        def ack = MessageGenerator.randomSuccessMessages(["U1", "U2", "U3"])
+
+        then:
+        def parts = ack.split(";")
+        parts.size() == 3
+        parts[0].contains("<@U1>")
+        parts[1].contains("<@U2>")
+        parts[2].contains("<@U3>")
+    }
+}
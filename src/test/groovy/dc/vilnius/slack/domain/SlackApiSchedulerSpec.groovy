@@ -0,0 +1,103 @@
+package dc.vilnius.slack.domain
+
+import com.slack.api.methods.SlackApiException
+import com.slack.api.methods.response.chat.ChatPostMessageResponse
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import okhttp3.Protocol
+import okhttp3.Request
+import okhttp3.Response
+import spock.lang.Specification
+
+import java.time.Duration
+
+class SlackApiSchedulerSpec extends Specification {
+
+    def meterRegistry = new SimpleMeterRegistry()
+    def scheduler = new SlackApiScheduler(meterRegistry, 3, Duration.ofMillis(10))
+
+    def "Retries a rate limited call and counts the throttle"() {
+        given:
+        def responses = [response(false, "ratelimited"), response(true, null)]
+
+        when:
+        def result = scheduler.call("chat.postMessage", SlackApiTier.CHAT_POST_MESSAGE) {
+            responses.remove(0)
+        }
+
+        then:
+        result.ok
+        responses.empty
+        meterRegistry.counter("slack.api.throttled", "method", "chat.postMessage").count() == 1
+    }
+
+    def "Gives up after the configured number of attempts"() {
+        given:
+        def attempts = 0
+
+        when:
+        def result = scheduler.call("chat.postMessage", SlackApiTier.CHAT_POST_MESSAGE) {
+            attempts++
+            response(false, "ratelimited")
+        }
+
+        then:
+        !result.ok
+        attempts == 3
+    }
+
+    def "Waits for the Retry-After of an HTTP 429 before retrying"() {
+        given:
+        def attempts = []
+
+        when:
+        def result = scheduler.call("chat.postMessage", SlackApiTier.CHAT_POST_MESSAGE) {
+            attempts << System.nanoTime()
+            if (attempts.size() == 1) {
+                throw rateLimited("2")
+            }
+            response(true, null)
+        }
+
+        then:
+        result.ok
+        attempts.size() == 2
+        Duration.ofNanos(attempts[1] - attempts[0]) >= Duration.ofSeconds(2)
+        meterRegistry.counter("slack.api.throttled", "method", "chat.postMessage").count() == 1
+    }
+
+    def "Falls back to the default delay when the Retry-After is not a number of seconds"() {
+        given:
+        def attempts = 0
+
+        when:
+        def result = scheduler.call("chat.postMessage", SlackApiTier.CHAT_POST_MESSAGE) {
+            if (++attempts == 1) {
+                throw rateLimited("Wed, 21 Oct 2015 07:28:00 GMT")
+            }
+            response(true, null)
+        }
+
+        then:
+        result.ok
+        attempts == 2
+        meterRegistry.counter("slack.api.throttled", "method", "chat.postMessage").count() == 1
+    }
+
+    private static SlackApiException rateLimited(String retryAfter) {
+        def response = new Response.Builder()
+                .request(new Request.Builder().url("https://slack.com/api/chat.postMessage").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(429)
+                .message("Too Many Requests")
+                .header("Retry-After", retryAfter)
+                .build()
+        new SlackApiException(response, '{"ok":false,"error":"ratelimited"}')
+    }
+
+    private static ChatPostMessageResponse response(boolean ok, String error) {
+        def response = new ChatPostMessageResponse()
+        response.ok = ok
+        response.error = error
+        response
+    }
+}
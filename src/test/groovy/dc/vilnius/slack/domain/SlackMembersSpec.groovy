@@ -0,0 +1,126 @@
+package dc.vilnius.slack.domain
+
+import com.slack.api.methods.MethodsClient
+import com.slack.api.methods.request.conversations.ConversationsMembersRequest
+import com.slack.api.methods.request.usergroups.users.UsergroupsUsersListRequest
+import com.slack.api.methods.request.users.UsersListRequest
+import com.slack.api.methods.response.conversations.ConversationsMembersResponse
+import com.slack.api.methods.response.usergroups.users.UsergroupsUsersListResponse
+import com.slack.api.methods.response.users.UsersListResponse
+import com.slack.api.model.User
+import dc.vilnius.kudos.dto.GiveKudos
+import dc.vilnius.tasks.GivenKudosListener
+import dc.vilnius.tasks.KudosWriteBehindBuffer
+import dc.vilnius.tasks.SubmitKudosEvent
+import io.micronaut.test.annotation.MockBean
+import io.micronaut.test.extensions.spock.annotation.MicronautTest
+import jakarta.inject.Inject
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+@MicronautTest
+class SlackMembersSpec extends Specification {
+
+    static final String RESPONSE_URL = "https://hooks.slack.com/commands/T1/1/test"
+
+    @Inject
+    SlackMembers slackMembers
+
+    @Inject
+    MethodsClient methodsClient
+
+    def kudosWriteBehindBuffer = Mock(KudosWriteBehindBuffer)
+    def slashCommandResponder = Mock(SlashCommandResponder)
+
+    @MockBean(MethodsClient)
+    MethodsClient methodsClient() {
+        Mock(MethodsClient)
+    }
+
+    def setup() {
+        methodsClient.usersList(_ as UsersListRequest) >> new UsersListResponse(ok: true, members: [
+                new User(id: "U1"), new User(id: "U2"), new User(id: "U3"), new User(id: "B1", bot: true)
+        ])
+        slackMembers.refreshBots()
+    }
+
+    def "Expands usergroups and channels into unique heroes without the voter and bots"() {
+        given:
+        methodsClient.usergroupsUsersList({ it.usergroup == "S1" }) >>
+                new UsergroupsUsersListResponse(ok: true, users: ["U1", "U2", "B1"])
+        methodsClient.conversationsMembers({ it.channel == "C2" }) >>
+                new ConversationsMembersResponse(ok: true, members: ["U2", "U3", "USLACKBOT"])
+
+        when:
+        listener(10).onApplicationEvent(
+                new SubmitKudosEvent("C1", "U1", "<!subteam^S1|@squad> <#C2|team> great sprint", RESPONSE_URL))
+
+        then:
+        0 * methodsClient.usersList(_)
+        1 * kudosWriteBehindBuffer.add({ GiveKudos giveKudos -> giveKudos.usernames() == ["U2", "U3"] })
+        1 * slashCommandResponder.respond(RESPONSE_URL, "Thanks for voting 🥰 the whole team will be really happy 🥳🥳")
+    }
+
+    def "Caches the members of a usergroup"() {
+        when:
+        def first = slackMembers.usergroupMembers("S2")
+        def second = slackMembers.usergroupMembers("S2")
+
+        then:
+        1 * methodsClient.usergroupsUsersList(_ as UsergroupsUsersListRequest) >>
+                new UsergroupsUsersListResponse(ok: true, users: ["U1", "U3"])
+        first == ["U1", "U3"]
+        second == first
+    }
+
+    def "Loads the members of a usergroup once for concurrent votes"() {
+        given:
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def members = (1..4).collect { executor.submit({ slackMembers.usergroupMembers("S3") } as Callable) }*.get()
+
+        then:
+        1 * methodsClient.usergroupsUsersList(_ as UsergroupsUsersListRequest) >> {
+            Thread.sleep(200)
+            new UsergroupsUsersListResponse(ok: true, users: ["U1", "B1"])
+        }
+        members.every { it == ["U1"] }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "Does not cache a failed lookup"() {
+        when:
+        def first = slackMembers.channelMembers("C3")
+        def second = slackMembers.channelMembers("C3")
+
+        then:
+        2 * methodsClient.conversationsMembers(_ as ConversationsMembersRequest) >>>
+                [new ConversationsMembersResponse(ok: false, error: "channel_not_found"),
+                 new ConversationsMembersResponse(ok: true, members: ["U2"])]
+        first.empty
+        second == ["U2"]
+    }
+
+    def "Rejects a vote that expands to more members than allowed"() {
+        given:
+        methodsClient.conversationsMembers({ it.channel == "C4" }) >>
+                new ConversationsMembersResponse(ok: true, members: ["U1", "U2", "U3"])
+
+        when:
+        listener(1).onApplicationEvent(new SubmitKudosEvent("C1", "U1", "<#C4|everyone> thanks", RESPONSE_URL))
+
+        then:
+        0 * kudosWriteBehindBuffer.add(_)
+        1 * slashCommandResponder.respond(RESPONSE_URL,
+                "That vote would thank 2 people, mention at most 1 heroes, e.g. a smaller @group")
+    }
+
+    private GivenKudosListener listener(int maxMembers) {
+        new GivenKudosListener(kudosWriteBehindBuffer, slackMembers, slashCommandResponder, maxMembers)
+    }
+}
@@ -4,6 +4,9 @@ package dc.vilnius.slack.domain
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.time.DateTimeException
+import java.time.LocalDate
+
 class SlackMessageParserAcceptanceSpec extends Specification {
 
     @Unroll
@@ -21,7 +24,84 @@ class SlackMessageParserAcceptanceSpec extends Specification {
         "<@RANDOMID1|name.surname> <@RANDOMID|username> you are awesome"            | ["RANDOMID1", "RANDOMID"]              | "you are awesome"
         "<@RANDOMID2|name>, <@RANDOMID3|surname>, <@RANDOMID|username> you rock 🤘" | ["RANDOMID2", "RANDOMID3", "RANDOMID"] | "you rock 🤘"
         "<@RANDOMID4|name.z.surname> lol 🤣"                                        | ["RANDOMID4"]                         | "lol 🤣"
+        "<@RANDOMID|username> <@RANDOMID|username> thanks twice"                    | ["RANDOMID"]                           | "thanks twice"
+        "<@RANDOMID> thanks"                                                        | ["RANDOMID"]                           | "thanks"
+        "@name.surname @username thanks for the review"                             | ["name.surname", "username"]           | "thanks for the review"
+        "<@RANDOMID|username> thanks, <@RANDOMID1|name> too"                        | ["RANDOMID", "RANDOMID1"]              | "thanks, <@RANDOMID1|name> too"
+        "<@RANDOMID|username>"                                                      | ["RANDOMID"]                           | null
+
+    }
+
+    def "Parses channel and usergroup mentions apart from users"() {
+        when:
+        def result = CommandParser.parse("<@RANDOMID|username> <!subteam^GROUPID|@devs> <#CHANNELID|general> <!here> thanks all")
+
+        then:
+        result.users() == ["RANDOMID"]
+        result.usergroups() == ["GROUPID"]
+        result.channels() == ["CHANNELID"]
+        result.message() == "thanks all"
+    }
+
+    @Unroll
+    def "Parses leaderboard arguments '#text'"() {
+        when:
+        def command = CommandParser.parseLeaderboard(text, LocalDate.of(2021, 10, 15), 0)
+
+        then:
+        command.date() == date
+        command.top() == top
+
+        where:
+        text                | date                       | top
+        null                | LocalDate.of(2021, 10, 15) | 0
+        ""                  | LocalDate.of(2021, 10, 15) | 0
+        "   "               | LocalDate.of(2021, 10, 15) | 0
+        "2021-09-01"        | LocalDate.of(2021, 9, 1)   | 0
+        "top=5"             | LocalDate.of(2021, 10, 15) | 5
+        "2021-09-01 top=5"  | LocalDate.of(2021, 9, 1)   | 5
+        "top=5  2021-09-01" | LocalDate.of(2021, 9, 1)   | 5
+    }
+
+    @Unroll
+    def "Rejects leaderboard arguments '#text'"() {
+        when:
+        CommandParser.parseLeaderboard(text, LocalDate.of(2021, 10, 15), 0)
 
+        then:
+        thrown(exception)
+
+        where:
+        text         | exception
+        "top=0"      | IllegalArgumentException
+        "top=-3"     | IllegalArgumentException
+        "top=abc"    | IllegalArgumentException
+        "top="       | IllegalArgumentException
+        "2021-13-01" | DateTimeException
+        "september"  | DateTimeException
     }
 
+    @Unroll
+    def "Parses yearly leaderboard arguments '#text'"() {
+        expect:
+        CommandParser.parseYearLeaderboard(text, 10) == top
+
+        where:
+        text    | top
+        null    | 10
+        " "     | 10
+        "top=3" | 3
+    }
+
+    @Unroll
+    def "Rejects yearly leaderboard arguments '#text'"() {
+        when:
+        CommandParser.parseYearLeaderboard(text, 10)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        text << ["2021-09-01", "2021-09-01 top=3", "top=0", "top=abc"]
+    }
 }
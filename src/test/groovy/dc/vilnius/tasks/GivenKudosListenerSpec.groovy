@@ -0,0 +1,81 @@
+package dc.vilnius.tasks
+
+import dc.vilnius.kudos.dto.GiveKudos
+import dc.vilnius.slack.domain.SlackMembers
+import dc.vilnius.slack.domain.SlashCommandResponder
+import spock.lang.Specification
+
+class GivenKudosListenerSpec extends Specification {
+
+    static final String RESPONSE_URL = "https://hooks.slack.com/commands/T1/1/secret"
+
+    def kudosWriteBehindBuffer = Mock(KudosWriteBehindBuffer)
+    def slackMembers = Mock(SlackMembers)
+    def slashCommandResponder = Mock(SlashCommandResponder)
+    def listener = new GivenKudosListener(kudosWriteBehindBuffer, slackMembers, slashCommandResponder, 100)
+
+    def "Stores the vote and replies to the response_url"() {
+        when:
+        listener.onApplicationEvent(new SubmitKudosEvent("C1", "U1", "<@U2> thanks for the help", RESPONSE_URL))
+
+        then:
+        1 * kudosWriteBehindBuffer.add({ GiveKudos giveKudos ->
+            giveKudos.channel() == "C1" && giveKudos.usernames() == ["U2"] &&
+                    giveKudos.message() == "thanks for the help" && giveKudos.created() != null
+        })
+        1 * slashCommandResponder.respond(RESPONSE_URL, { it.contains("<@U2>") })
+    }
+
+    def "Replies with the team message after expanding a usergroup"() {
+        given:
+        slackMembers.usergroupMembers("S1") >> ["U1", "U2", "U3"]
+
+        when:
+        listener.onApplicationEvent(new SubmitKudosEvent("C1", "U1", "<!subteam^S1|@squad> great sprint", RESPONSE_URL))
+
+        then:
+        1 * kudosWriteBehindBuffer.add({ GiveKudos giveKudos -> giveKudos.usernames() == ["U2", "U3"] })
+        1 * slashCommandResponder.respond(RESPONSE_URL, "Thanks for voting 🥰 the whole team will be really happy 🥳🥳")
+    }
+
+    def "Rejects a vote for yourself"() {
+        when:
+        listener.onApplicationEvent(new SubmitKudosEvent("C1", "U1", "<@U1> I did great", RESPONSE_URL))
+
+        then:
+        0 * kudosWriteBehindBuffer.add(_)
+        1 * slashCommandResponder.respond(RESPONSE_URL, "Really? No cheating mate!")
+    }
+
+    def "Asks for a message when the vote only mentions heroes"() {
+        when:
+        listener.onApplicationEvent(new SubmitKudosEvent("C1", "U1", "<@U2>", RESPONSE_URL))
+
+        then:
+        0 * slackMembers._
+        0 * kudosWriteBehindBuffer.add(_)
+        1 * slashCommandResponder.respond(RESPONSE_URL,
+                "Tell your heroes what they did, e.g. /hero-vote @name thanks for the help")
+    }
+
+    def "Asks for a hero when nobody is mentioned"() {
+        given:
+        slackMembers.channelMembers("C2") >> ["U1"]
+
+        when:
+        listener.onApplicationEvent(new SubmitKudosEvent("C1", "U1", text, RESPONSE_URL))
+
+        then:
+        0 * kudosWriteBehindBuffer.add(_)
+        1 * slashCommandResponder.respond(RESPONSE_URL,
+                "Couldn't find anyone to thank in your vote, mention a hero like @name")
+
+        where:
+        text << ["thanks everyone", "<#C2|just-me> thanks"]
+    }
+
+    def "Does not expose the response_url in the event description"() {
+        expect:
+        !new SubmitKudosEvent("C1", "U1", "<@U2> thanks", RESPONSE_URL).toString().contains("secret")
+    }
+}
@@ -0,0 +1,68 @@
+package dc.vilnius.tasks
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.micronaut.context.event.ApplicationEventPublisher
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+class KudosEmittersSpec extends Specification {
+
+    def meterRegistry = new SimpleMeterRegistry()
+    def release = new CountDownLatch(1)
+    def blockingPublisher = { event -> release.await(10, TimeUnit.SECONDS) } as ApplicationEventPublisher
+    def factory = new KudosExecutorFactory()
+    def votesExecutor = factory.boundedExecutor(KudosExecutorFactory.VOTES, 1, 1, new ThreadPoolExecutor.AbortPolicy())
+    def leaderboardsExecutor = factory.boundedExecutor(KudosExecutorFactory.LEADERBOARDS, 1, 1,
+            new ThreadPoolExecutor.AbortPolicy())
+    def submitKudosEmitter = new SubmitKudosEmitter(eventPublisher: blockingPublisher, executor: votesExecutor,
+            meterRegistry: meterRegistry)
+    def getKudosOfTheYearEmitter = new GetKudosOfTheYearEmitter(eventPublisher: blockingPublisher,
+            executor: leaderboardsExecutor, meterRegistry: meterRegistry)
+
+    def cleanup() {
+        release.countDown()
+        votesExecutor.shutdownNow()
+        leaderboardsExecutor.shutdownNow()
+    }
+
+    def "Rejects votes once the votes queue is full and counts the rejection"() {
+        given:
+        submitKudosEmitter.publish("C1", "U1", "<@U2> running", "https://hooks.slack.com/1")
+        submitKudosEmitter.publish("C1", "U1", "<@U2> queued", "https://hooks.slack.com/2")
+
+        expect:
+        !submitKudosEmitter.publish("C1", "U1", "<@U2> rejected", "https://hooks.slack.com/3")
+        meterRegistry.counter("kudos.events.rejected", "executor", KudosExecutorFactory.VOTES).count() == 1
+    }
+
+    def "Rejects leaderboard requests once the leaderboards queue is full and counts the rejection"() {
+        given:
+        getKudosOfTheYearEmitter.publish("C1", "U1", 0)
+        getKudosOfTheYearEmitter.publish("C1", "U1", 0)
+
+        expect:
+        !getKudosOfTheYearEmitter.publish("C1", "U1", 0)
+        meterRegistry.counter("kudos.events.rejected", "executor", KudosExecutorFactory.LEADERBOARDS).count() == 1
+    }
+
+    def "Accepts work again once the queue drains"() {
+        given:
+        submitKudosEmitter.publish("C1", "U1", "<@U2> running", "https://hooks.slack.com/1")
+        submitKudosEmitter.publish("C1", "U1", "<@U2> queued", "https://hooks.slack.com/2")
+
+        expect:
+        !submitKudosEmitter.publish("C1", "U1", "<@U2> rejected", "https://hooks.slack.com/3")
+
+        when:
+        release.countDown()
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert submitKudosEmitter.publish("C1", "U1", "<@U2> accepted", "https://hooks.slack.com/4")
+        }
+    }
+}
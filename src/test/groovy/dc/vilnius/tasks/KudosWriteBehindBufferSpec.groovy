@@ -0,0 +1,196 @@
+package dc.vilnius.tasks
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import dc.vilnius.kudos.domain.KudosFacade
+import dc.vilnius.kudos.dto.GiveKudos
+import dc.vilnius.kudos.dto.KudosDto
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import javax.validation.ConstraintViolationException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+import java.time.LocalDateTime
+
+class KudosWriteBehindBufferSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def kudosFacade = new FakeKudosFacade()
+    def objectMapper = new ObjectMapper().findAndRegisterModules()
+
+    def "Flushes a full batch"() {
+        given:
+        def buffer = buffer(2)
+        def votes = [vote("U1"), vote("U2")]
+
+        when:
+        votes.each { buffer.add(it) }
+
+        then:
+        kudosFacade.stored == votes
+    }
+
+    def "Spills a failed batch and replays it with the original timestamp"() {
+        given:
+        def buffer = buffer(10)
+        def vote = vote("U1", LocalDateTime.now().minusHours(3))
+        buffer.add(vote)
+        kudosFacade.failing = true
+
+        when:
+        buffer.flush()
+
+        then:
+        kudosFacade.stored.empty
+        Files.readAllLines(spillFile()).size() == 1
+
+        when:
+        kudosFacade.failing = false
+        buffer.flush()
+
+        then:
+        kudosFacade.stored == [vote]
+        !Files.exists(spillFile())
+    }
+
+    def "Replays spilled votes once when the replay fails"() {
+        given:
+        def buffer = buffer(10)
+        buffer.add(vote("U1"))
+        kudosFacade.failing = true
+        buffer.flush()
+
+        when:
+        buffer.flush()
+
+        then:
+        Files.readAllLines(spillFile()).size() == 1
+
+        when:
+        kudosFacade.failing = false
+        buffer.flush()
+        buffer.flush()
+
+        then:
+        kudosFacade.stored*.usernames() == [["U1"]]
+    }
+
+    def "Stores the rest of a batch and dead-letters a vote the database rejects"() {
+        given:
+        def buffer = buffer(10)
+        def votes = [vote("U1"), new GiveKudos("CHANNEL", ["U2"], null, LocalDateTime.now()), vote("U3")]
+        votes.each { buffer.add(it) }
+
+        when:
+        buffer.flush()
+
+        then:
+        kudosFacade.stored*.usernames() == [["U1"], ["U3"]]
+        !Files.exists(spillFile())
+        Files.readAllLines(deadLetterFile()).size() == 1
+        Files.readAllLines(deadLetterFile())[0].contains('"U2"')
+    }
+
+    def "Spills the votes left once the database fails while storing them one by one"() {
+        given:
+        def buffer = buffer(10)
+        [vote("U1"), new GiveKudos("CHANNEL", ["U2"], null, LocalDateTime.now()), vote("U3")]
+                .each { buffer.add(it) }
+        kudosFacade.failing = true
+
+        when:
+        buffer.flush()
+
+        then:
+        kudosFacade.submitted == 2
+        Files.readAllLines(spillFile()).size() == 3
+        !Files.exists(deadLetterFile())
+    }
+
+    def "Waits for the replay backoff before replaying a spill that failed again"() {
+        given:
+        def buffer = new KudosWriteBehindBuffer(kudosFacade, objectMapper, 100, 10, spillFile().toString(),
+                deadLetterFile().toString(), Duration.ofHours(1))
+        buffer.add(vote("U1"))
+        kudosFacade.failing = true
+        buffer.flush()
+
+        when:
+        buffer.flush()
+        kudosFacade.failing = false
+        buffer.flush()
+
+        then:
+        kudosFacade.stored.empty
+        Files.readAllLines(spillFile()).size() == 1
+    }
+
+    def "Stores or spills the remaining votes on shutdown"() {
+        given:
+        def buffer = buffer(10)
+        def votes = [vote("U1"), vote("U2")]
+        votes.each { buffer.add(it) }
+        kudosFacade.failing = failing
+
+        when:
+        buffer.close()
+
+        then:
+        kudosFacade.stored.size() == stored
+        Files.exists(spillFile()) == failing
+
+        where:
+        failing | stored
+        false   | 2
+        true    | 0
+    }
+
+    private KudosWriteBehindBuffer buffer(int batchSize) {
+        new KudosWriteBehindBuffer(kudosFacade, objectMapper, 100, batchSize, spillFile().toString(),
+                deadLetterFile().toString(), Duration.ZERO)
+    }
+
+    private Path spillFile() {
+        tempDir.resolve("kudos-write-behind.jsonl")
+    }
+
+    private Path deadLetterFile() {
+        tempDir.resolve("kudos-dead-letter.jsonl")
+    }
+
+    private static GiveKudos vote(String username, LocalDateTime created = LocalDateTime.now()) {
+        new GiveKudos("CHANNEL", [username], "thanks", created)
+    }
+
+    static class FakeKudosFacade extends KudosFacade {
+
+        List<GiveKudos> stored = []
+        int submitted
+        boolean failing
+
+        FakeKudosFacade() {
+            super(null, null, null, null, null, null, null, null)
+        }
+
+        @Override
+        List<KudosDto> submit(GiveKudos giveKudos) {
+            submitAll([giveKudos])
+        }
+
+        @Override
+        List<KudosDto> submitAll(List<GiveKudos> giveKudosList) {
+            submitted++
+            if (failing) {
+                throw new IllegalStateException("database is down")
+            }
+            if (giveKudosList.any { it.message() == null }) {
+                throw new ConstraintViolationException("message must not be null", [] as Set)
+            }
+            stored.addAll(giveKudosList)
+            []
+        }
+    }
+}